@@ -0,0 +1,39 @@
+package pd.santos.asseteventmonitor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pd.santos.asseteventmonitor.spool.EventSpool;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuration for the local event spool.
+ * When enabled, imports are acknowledged once their events are written to the spool,
+ * and a background drainer publishes them to Kafka.
+ */
+@Configuration
+@ConditionalOnProperty(name = "asset.events.spool.enabled", havingValue = "true")
+public class EventSpoolConfig {
+
+    /**
+     * Open the event spool, recovering any events left over from a previous run.
+     *
+     * @param directory the spool directory
+     * @param segmentSize the size of each segment file in bytes
+     * @param maxSegments the maximum number of segment files
+     * @param fsync whether writes are flushed to disk before being acknowledged
+     * @return the event spool
+     * @throws IOException if the spool cannot be opened
+     */
+    @Bean(destroyMethod = "close")
+    public EventSpool eventSpool(
+            @Value("${asset.events.spool.dir}") String directory,
+            @Value("${asset.events.spool.segment-size}") int segmentSize,
+            @Value("${asset.events.spool.max-segments}") int maxSegments,
+            @Value("${asset.events.spool.fsync}") boolean fsync) throws IOException {
+        return new EventSpool(Path.of(directory), segmentSize, maxSegments, fsync);
+    }
+}
@@ -3,18 +3,29 @@ package pd.santos.asseteventmonitor.controller;
 import com.opencsv.exceptions.CsvValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import pd.santos.asseteventmonitor.exception.EventSpoolException;
 import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.service.ArchiveImportService;
 import pd.santos.asseteventmonitor.service.CsvParserService;
+import pd.santos.asseteventmonitor.service.EventBatchingService;
+import pd.santos.asseteventmonitor.service.JsonParserService;
 import pd.santos.asseteventmonitor.service.KafkaProducerService;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller for handling asset event operations.
@@ -26,32 +37,57 @@ public class AssetEventController {
     private static final Logger logger = LoggerFactory.getLogger(AssetEventController.class);
 
     private final CsvParserService csvParserService;
+    private final JsonParserService jsonParserService;
     private final KafkaProducerService kafkaProducerService;
+    private final EventBatchingService eventBatchingService;
+    private final ArchiveImportService archiveImportService;
 
-    public AssetEventController(CsvParserService csvParserService, KafkaProducerService kafkaProducerService) {
+    public AssetEventController(
+            CsvParserService csvParserService,
+            JsonParserService jsonParserService,
+            KafkaProducerService kafkaProducerService,
+            EventBatchingService eventBatchingService,
+            ArchiveImportService archiveImportService) {
         this.csvParserService = csvParserService;
+        this.jsonParserService = jsonParserService;
         this.kafkaProducerService = kafkaProducerService;
+        this.eventBatchingService = eventBatchingService;
+        this.archiveImportService = archiveImportService;
     }
 
     /**
-     * Import asset events from a CSV file and publish them to Kafka.
+     * Import asset events from CSV files and publish them to Kafka.
+     * Accepts a single CSV file, several CSV files, or ZIP archives of CSV files.
+     * Several files are parsed in parallel and merged, so each ticker is ordered
+     * consistently across all of them.
      *
-     * @param file The CSV file containing asset events
+     * @param files The CSV or ZIP files containing asset events
      * @return A response indicating success or failure
      */
     @PostMapping("/import")
-    public ResponseEntity<?> importEvents(@RequestParam("file") MultipartFile file) {
-        if (file.isEmpty()) {
+    public ResponseEntity<?> importEvents(@RequestParam("file") List<MultipartFile> files) {
+        List<MultipartFile> nonEmptyFiles = files.stream().filter(file -> !file.isEmpty()).toList();
+        if (nonEmptyFiles.isEmpty()) {
             return ResponseEntity.badRequest().body("Please upload a non-empty file");
         }
 
         try {
-            if (!file.getOriginalFilename().endsWith(".csv")) {
-                return ResponseEntity.badRequest().body("Please upload a CSV file");
+            for (MultipartFile file : nonEmptyFiles) {
+                String filename = file.getOriginalFilename();
+                if (!filename.endsWith(".csv") && !filename.endsWith(".zip")) {
+                    return ResponseEntity.badRequest().body("Please upload a CSV file");
+                }
             }
 
-            logger.info("Parsing CSV file: {}", file.getOriginalFilename());
-            List<AssetEvent> events = csvParserService.parseAssetEvents(file);
+            List<AssetEvent> events;
+            MultipartFile first = nonEmptyFiles.get(0);
+            if (nonEmptyFiles.size() == 1 && first.getOriginalFilename().endsWith(".csv")) {
+                logger.info("Parsing CSV file: {}", first.getOriginalFilename());
+                events = csvParserService.parseAssetEvents(first);
+            } else {
+                logger.info("Parsing {} uploaded files in parallel", nonEmptyFiles.size());
+                events = archiveImportService.parseAssetEvents(nonEmptyFiles);
+            }
             
             if (events.isEmpty()) {
                 return ResponseEntity.badRequest().body("No valid events found in the CSV file");
@@ -67,9 +103,101 @@ public class AssetEventController {
         } catch (CsvValidationException e) {
             logger.error("Error parsing CSV file", e);
             return ResponseEntity.badRequest().body("Error parsing CSV file: " + e.getMessage());
+        } catch (EventSpoolException e) {
+            logger.error("Error spooling events", e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Event spool unavailable: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error", e);
+            return ResponseEntity.internalServerError().body("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Import asset events from a JSON file and publish them to Kafka.
+     * Accepts a top-level array of event objects or newline-delimited JSON (one object per line).
+     *
+     * @param file The JSON or NDJSON file containing asset events
+     * @return A response indicating success or failure
+     */
+    @PostMapping("/import/json")
+    public ResponseEntity<?> importJsonEvents(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Please upload a non-empty file");
+        }
+
+        try {
+            String filename = file.getOriginalFilename();
+            if (filename == null || !(filename.endsWith(".json") || filename.endsWith(".ndjson") || filename.endsWith(".jsonl"))) {
+                return ResponseEntity.badRequest().body("Please upload a JSON or NDJSON file");
+            }
+
+            logger.info("Parsing JSON file: {}", filename);
+            List<AssetEvent> events = jsonParserService.parseAssetEvents(file);
+
+            if (events.isEmpty()) {
+                return ResponseEntity.badRequest().body("No valid events found in the JSON file");
+            }
+
+            logger.info("Publishing {} events to Kafka", events.size());
+            kafkaProducerService.publishEvents(events);
+
+            return ResponseEntity.ok().body("Successfully imported " + events.size() + " events");
+        } catch (IOException e) {
+            logger.error("Error reading JSON file", e);
+            return ResponseEntity.badRequest().body("Error reading JSON file: " + e.getMessage());
+        } catch (EventSpoolException e) {
+            logger.error("Error spooling events", e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Event spool unavailable: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Unexpected error", e);
             return ResponseEntity.internalServerError().body("Unexpected error: " + e.getMessage());
         }
     }
+
+    /**
+     * Submit a single event or a small batch of events for low-latency publishing.
+     * The body is a JSON object, a JSON array of objects, or newline-delimited JSON.
+     * Submissions from concurrent callers are coalesced into larger batches, and the
+     * response is sent once this caller's events are confirmed. A body with more events
+     * than a single submission may hold is rejected as soon as the extra event is reached.
+     *
+     * @param body The request body
+     * @return A future response indicating success or failure
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public CompletableFuture<ResponseEntity<?>> submitEvents(InputStream body) {
+        List<AssetEvent> events = new ArrayList<>();
+        try {
+            jsonParserService.readAssetEvents(body, eventBatchingService.getMaxRequestEvents(), events::add);
+        } catch (IOException e) {
+            logger.debug("Error reading JSON body", e);
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("Error reading JSON body: " + e.getMessage()));
+        }
+
+        if (events.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body("No events found in the request body"));
+        }
+
+        return eventBatchingService.submit(events)
+                .<ResponseEntity<?>>thenApply(ignored -> ResponseEntity.ok().body("Successfully submitted " + events.size() + " events"))
+                .exceptionally(this::submissionFailed);
+    }
+
+    private ResponseEntity<?> submissionFailed(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(cause.getMessage());
+        }
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(cause.getMessage());
+        }
+        if (cause instanceof EventSpoolException) {
+            logger.error("Error spooling events", cause);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Event spool unavailable: " + cause.getMessage());
+        }
+        logger.error("Error publishing events", cause);
+        return ResponseEntity.internalServerError().body("Failed to publish events: " + cause.getMessage());
+    }
 }
\ No newline at end of file
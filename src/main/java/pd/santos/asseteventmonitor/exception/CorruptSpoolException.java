@@ -0,0 +1,43 @@
+package pd.santos.asseteventmonitor.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when the event spool cannot be read at an offset because its data is corrupt or missing.
+ */
+public class CorruptSpoolException extends IOException {
+
+    private final long offset;
+
+    /**
+     * Constructs a new CorruptSpoolException with the specified detail message and offset.
+     *
+     * @param message the detail message
+     * @param offset the spool offset that could not be read
+     */
+    public CorruptSpoolException(String message, long offset) {
+        super(message);
+        this.offset = offset;
+    }
+
+    /**
+     * Constructs a new CorruptSpoolException with the specified detail message, offset and cause.
+     *
+     * @param message the detail message
+     * @param offset the spool offset that could not be read
+     * @param cause the reason the data at the offset could not be read
+     */
+    public CorruptSpoolException(String message, long offset, Throwable cause) {
+        super(message, cause);
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the spool offset that could not be read.
+     *
+     * @return the offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,18 @@
+package pd.santos.asseteventmonitor.exception;
+
+/**
+ * Exception thrown when events cannot be written to the local event spool,
+ * for example because the spool is full or the disk is unavailable.
+ */
+public class EventSpoolException extends RuntimeException {
+
+    /**
+     * Constructs a new EventSpoolException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause of the failure
+     */
+    public EventSpoolException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,44 @@
+package pd.santos.asseteventmonitor.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when a record in a JSON or NDJSON file cannot be parsed.
+ */
+public class JsonRecordParseException extends IOException {
+
+    private final long recordIndex;
+    private final int lineNumber;
+
+    /**
+     * Constructs a new JsonRecordParseException with the specified detail message and record position.
+     *
+     * @param message the detail message
+     * @param recordIndex the zero-based index of the record that could not be parsed
+     * @param lineNumber the line on which the record starts
+     * @param cause the cause of the parsing failure
+     */
+    public JsonRecordParseException(String message, long recordIndex, int lineNumber, Throwable cause) {
+        super(message, cause);
+        this.recordIndex = recordIndex;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the zero-based index of the record that could not be parsed.
+     *
+     * @return the record index
+     */
+    public long getRecordIndex() {
+        return recordIndex;
+    }
+
+    /**
+     * Returns the line on which the record that could not be parsed starts.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+}
@@ -0,0 +1,268 @@
+package pd.santos.asseteventmonitor.service;
+
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import pd.santos.asseteventmonitor.exception.CsvRowParseException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Service for importing several CSV files at once, uploaded separately or as ZIP archives.
+ * Every CSV file or archive entry is parsed and sorted on its own worker thread, and the
+ * sorted runs are concatenated in file order. The result is not ordered across files:
+ * {@link KafkaProducerService#publishEvents} sorts it with a stable sort that merges the
+ * presorted runs cheaply, so events that compare equal keep the order of their files.
+ */
+@Service
+public class ArchiveImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveImportService.class);
+
+    private final CsvParserService csvParserService;
+    private final ExecutorService executor;
+    private final long maxUncompressedBytes;
+    private final int maxEntries;
+
+    /**
+     * A CSV file to parse: an uploaded file or an entry of an uploaded archive.
+     */
+    private record CsvSource(String name, InputStreamSupplier content) {
+    }
+
+    @FunctionalInterface
+    private interface InputStreamSupplier {
+        InputStream open() throws IOException;
+    }
+
+    public ArchiveImportService(
+            CsvParserService csvParserService,
+            @Value("${asset.events.import.parallelism}") int parallelism,
+            @Value("${asset.events.import.max-uncompressed-bytes}") long maxUncompressedBytes,
+            @Value("${asset.events.import.max-entries}") int maxEntries) {
+        this.csvParserService = csvParserService;
+        this.maxUncompressedBytes = maxUncompressedBytes;
+        this.maxEntries = maxEntries;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "csv-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Stop the parser threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Parse CSV files and ZIP archives of CSV files in parallel and collect their events.
+     * Archive entries that are not CSV files are ignored. If a file cannot be parsed,
+     * the import fails as soon as that is found, without waiting for the other files.
+     * Since a small archive can expand to far more data than the upload limit allows, the
+     * number of CSV files and the total uncompressed bytes read are limited.
+     *
+     * @param files The uploaded CSV and ZIP files
+     * @return All events, sorted within each file and concatenated in file order
+     * @throws IOException If there is an error reading a file or archive, or a limit is exceeded
+     * @throws CsvValidationException If there is an error parsing a CSV file
+     */
+    public List<AssetEvent> parseAssetEvents(List<MultipartFile> files) throws IOException, CsvValidationException {
+        List<Path> tempFiles = new ArrayList<>();
+        List<ZipFile> archives = new ArrayList<>();
+        try {
+            List<CsvSource> sources = new ArrayList<>();
+            for (MultipartFile file : files) {
+                String filename = file.getOriginalFilename();
+                if (filename != null && filename.endsWith(".zip")) {
+                    // ZipFile needs random access, and allows entries to be read concurrently
+                    Path archivePath = Files.createTempFile("asset-events-", ".zip");
+                    tempFiles.add(archivePath);
+                    file.transferTo(archivePath);
+                    ZipFile archive = new ZipFile(archivePath.toFile());
+                    archives.add(archive);
+                    addArchiveEntries(filename, archive, sources);
+                } else {
+                    sources.add(new CsvSource(filename, file::getInputStream));
+                }
+                checkEntryCount(sources);
+            }
+
+            logger.info("Parsing {} CSV files from {} uploads", sources.size(), files.size());
+            return concatenate(parseAll(sources));
+        } finally {
+            for (ZipFile archive : archives) {
+                archive.close();
+            }
+            for (Path tempFile : tempFiles) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private void addArchiveEntries(String archiveName, ZipFile archive, List<CsvSource> sources) throws IOException {
+        Enumeration<? extends ZipEntry> entries = archive.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (entry.isDirectory() || !name.toLowerCase().endsWith(".csv") || name.startsWith("__MACOSX/")) {
+                continue;
+            }
+            sources.add(new CsvSource(archiveName + "!/" + name, () -> archive.getInputStream(entry)));
+            checkEntryCount(sources);
+        }
+    }
+
+    private void checkEntryCount(List<CsvSource> sources) throws IOException {
+        if (sources.size() > maxEntries) {
+            throw new IOException("Too many CSV files in one import; the maximum is " + maxEntries);
+        }
+    }
+
+    /**
+     * Parse and sort every source on the worker pool. Results are taken as they complete,
+     * so the first failure is seen at once and makes the other tasks stop reading. They are
+     * still awaited, so none of them is reading when the caller closes the archives.
+     *
+     * @return One sorted run per source, in source order
+     */
+    private List<List<AssetEvent>> parseAll(List<CsvSource> sources) throws IOException, CsvValidationException {
+        AtomicBoolean aborted = new AtomicBoolean();
+        AtomicLong bytesRead = new AtomicLong();
+        CompletionService<List<AssetEvent>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<List<AssetEvent>>> futures = new ArrayList<>();
+        for (CsvSource source : sources) {
+            futures.add(completionService.submit(() -> parse(source, aborted, bytesRead)));
+        }
+
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (int remaining = futures.size(); remaining > 0; ) {
+            try {
+                Future<List<AssetEvent>> future = completionService.take();
+                remaining--;
+                future.get();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                aborted.set(true);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                    aborted.set(true);
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing CSV files");
+        }
+        if (failure instanceof CsvValidationException csvValidationException) {
+            throw csvValidationException;
+        }
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+        return futures.stream().map(Future::resultNow).toList();
+    }
+
+    /**
+     * Parse and sort one source, naming the source in any error.
+     */
+    private List<AssetEvent> parse(CsvSource source, AtomicBoolean aborted, AtomicLong bytesRead)
+            throws IOException, CsvValidationException {
+        if (aborted.get()) {
+            throw new IOException(source.name() + ": import aborted");
+        }
+        try {
+            List<AssetEvent> events = csvParserService.readAssetEvents(guarded(source.content().open(), aborted, bytesRead));
+            events.sort(KafkaProducerService.EVENT_ORDER);
+            return events;
+        } catch (CsvValidationException e) {
+            throw new CsvValidationException(source.name() + ": " + e.getMessage());
+        } catch (CsvRowParseException e) {
+            throw new CsvRowParseException(source.name() + ": " + e.getMessage(), e.getRow(), e.getCause());
+        } catch (IOException | RuntimeException e) {
+            throw new IOException(source.name() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wrap a stream so that reading fails once the import is aborted, or once the import
+     * as a whole has read more than {@code maxUncompressedBytes}.
+     */
+    private InputStream guarded(InputStream input, AtomicBoolean aborted, AtomicLong bytesRead) {
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                checkAborted();
+                int value = super.read();
+                if (value >= 0) {
+                    count(1);
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                checkAborted();
+                int count = super.read(buffer, offset, length);
+                if (count > 0) {
+                    count(count);
+                }
+                return count;
+            }
+
+            private void checkAborted() throws IOException {
+                if (aborted.get()) {
+                    throw new InterruptedIOException("Import aborted");
+                }
+            }
+
+            private void count(int bytes) throws IOException {
+                if (bytesRead.addAndGet(bytes) > maxUncompressedBytes) {
+                    throw new IOException("Import is larger than the maximum of " + maxUncompressedBytes
+                            + " uncompressed bytes");
+                }
+            }
+        };
+    }
+
+    private static List<AssetEvent> concatenate(List<List<AssetEvent>> runs) {
+        List<AssetEvent> events = new ArrayList<>(runs.stream().mapToInt(List::size).sum());
+        runs.forEach(events::addAll);
+        return events;
+    }
+}
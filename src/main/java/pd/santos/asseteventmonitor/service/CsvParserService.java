@@ -9,6 +9,7 @@ import pd.santos.asseteventmonitor.model.EventType;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -36,9 +37,22 @@ public class CsvParserService {
      * @throws CsvValidationException If there is an error parsing the CSV
      */
     public List<AssetEvent> parseAssetEvents(MultipartFile file) throws IOException, CsvValidationException {
+        return readAssetEvents(file.getInputStream());
+    }
+
+    /**
+     * Parse CSV content from a stream into a list of AssetEvent objects.
+     * Used for CSV files that do not arrive as a single upload, such as archive entries.
+     *
+     * @param input The CSV content; closed by this method
+     * @return A list of AssetEvent objects
+     * @throws IOException If there is an error reading the content
+     * @throws CsvValidationException If there is an error parsing the CSV
+     */
+    public List<AssetEvent> readAssetEvents(InputStream input) throws IOException, CsvValidationException {
         List<AssetEvent> events = new ArrayList<>();
 
-        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
+        try (Reader reader = new BufferedReader(new InputStreamReader(input));
              CSVReader csvReader = new CSVReader(reader)) {
 
             // Read header row
@@ -0,0 +1,183 @@
+package pd.santos.asseteventmonitor.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that coalesces small event submissions from many callers into larger batches.
+ * Submissions are queued and a single background thread groups them until either the
+ * batch holds {@code maxBatchEvents} events or {@code lingerMillis} has passed since the
+ * first submission of the batch, then publishes the whole group at once.
+ * Each caller gets its own future, completed when its events are confirmed.
+ * Submissions are published in arrival order and are not sorted.
+ */
+@Service
+public class EventBatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventBatchingService.class);
+
+    private static final long IDLE_WAIT_MILLIS = 500;
+
+    private final KafkaProducerService kafkaProducerService;
+    private final BlockingQueue<Submission> queue;
+    private final int maxRequestEvents;
+    private final int maxBatchEvents;
+    private final long lingerNanos;
+    // Makes queueing a submission and stopping mutually exclusive, so nothing is queued after the final flush
+    private final Object lifecycleLock = new Object();
+
+    private volatile boolean running;
+    private Thread batcherThread;
+
+    /**
+     * Events submitted by a single caller, with the future that acknowledges them.
+     */
+    private record Submission(List<AssetEvent> events, CompletableFuture<Void> ack) {
+    }
+
+    public EventBatchingService(
+            KafkaProducerService kafkaProducerService,
+            @Value("${asset.events.batching.queue-capacity}") int queueCapacity,
+            @Value("${asset.events.batching.max-request-events}") int maxRequestEvents,
+            @Value("${asset.events.batching.max-batch-events}") int maxBatchEvents,
+            @Value("${asset.events.batching.linger-ms}") long lingerMillis) {
+        this.kafkaProducerService = kafkaProducerService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxRequestEvents = maxRequestEvents;
+        this.maxBatchEvents = maxBatchEvents;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    }
+
+    /**
+     * Start the batching thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        batcherThread = new Thread(this::run, "event-batcher");
+        batcherThread.setDaemon(true);
+        batcherThread.start();
+    }
+
+    /**
+     * Stop the batching thread after publishing the submissions that are already queued.
+     *
+     * @throws InterruptedException If interrupted while waiting for the thread to stop
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+        if (batcherThread != null) {
+            batcherThread.join();
+        }
+    }
+
+    /**
+     * @return The maximum number of events a single submission may hold
+     */
+    public int getMaxRequestEvents() {
+        return maxRequestEvents;
+    }
+
+    /**
+     * Submit events for publishing as part of the next batch.
+     *
+     * @param events The events to publish, in order
+     * @return A future completed when the events are confirmed, or completed exceptionally
+     *         with an {@link IllegalArgumentException} if there are too many events or an
+     *         event cannot be published, or
+     *         a {@link RejectedExecutionException} if the queue is full or batching is stopped
+     */
+    public CompletableFuture<Void> submit(List<AssetEvent> events) {
+        if (events.size() > maxRequestEvents) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Too many events in one request; the maximum is " + maxRequestEvents));
+        }
+        try {
+            // Reject events that can never be published now, so they cannot fail a whole batch
+            kafkaProducerService.validate(events);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Submission submission = new Submission(events, new CompletableFuture<>());
+        synchronized (lifecycleLock) {
+            if (!running) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Event batching is stopped"));
+            }
+            if (!queue.offer(submission)) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Event batching queue is full"));
+            }
+        }
+        return submission.ack();
+    }
+
+    private void run() {
+        List<Submission> batch = new ArrayList<>();
+        try {
+            while (running) {
+                Submission first = queue.poll(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                int eventCount = first.events().size();
+                long deadline = System.nanoTime() + lingerNanos;
+                while (eventCount < maxBatchEvents) {
+                    Submission next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    eventCount += next.events().size();
+                }
+
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+        logger.info("Event batcher stopped");
+    }
+
+    private void flush(List<Submission> batch) {
+        try {
+            List<CompletableFuture<Void>> acks = kafkaProducerService.publishBatches(
+                    batch.stream().map(Submission::events).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<Void> ack = batch.get(i).ack();
+                acks.get(i).whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        ack.complete(null);
+                    } else {
+                        ack.completeExceptionally(ex);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to publish a batch of {} submissions", batch.size(), e);
+            batch.forEach(submission -> submission.ack().completeExceptionally(e));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package pd.santos.asseteventmonitor.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import pd.santos.asseteventmonitor.exception.JsonRecordParseException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service for parsing JSON and newline-delimited JSON (NDJSON) files into AssetEvent objects.
+ * Input is read incrementally with Jackson's streaming parser: only the record being parsed
+ * is held in memory, never a tree of the whole document.
+ * Accepts any sequence of top-level objects and arrays of objects, so both
+ * {@code [{...}, {...}]} and one object per line are supported.
+ */
+@Service
+public class JsonParserService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_DATE;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Parse a JSON or NDJSON file into a list of AssetEvent objects.
+     *
+     * @param file The JSON file to parse
+     * @return A list of AssetEvent objects, in file order
+     * @throws IOException If there is an error reading or parsing the file
+     */
+    public List<AssetEvent> parseAssetEvents(MultipartFile file) throws IOException {
+        List<AssetEvent> events = new ArrayList<>();
+        try (InputStream input = file.getInputStream()) {
+            readAssetEvents(input, events::add);
+        }
+        return events;
+    }
+
+    /**
+     * Stream AssetEvent objects from JSON or NDJSON input to a consumer, in input order.
+     *
+     * @param input The JSON input; not closed by this method
+     * @param consumer The consumer that receives each parsed event
+     * @return The number of events read
+     * @throws IOException If there is an error reading or parsing the input
+     */
+    public long readAssetEvents(InputStream input, Consumer<AssetEvent> consumer) throws IOException {
+        return readAssetEvents(input, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Stream at most {@code maxEvents} AssetEvent objects from JSON or NDJSON input to a consumer,
+     * in input order. Reading stops as soon as the input is found to hold more events.
+     *
+     * @param input The JSON input; not closed by this method
+     * @param maxEvents The maximum number of events the input may hold
+     * @param consumer The consumer that receives each parsed event
+     * @return The number of events read
+     * @throws IOException If there is an error reading or parsing the input, or it holds too many events
+     */
+    public long readAssetEvents(InputStream input, long maxEvents, Consumer<AssetEvent> consumer) throws IOException {
+        long recordIndex = 0;
+        boolean empty = true;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(input)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                empty = false;
+                if (token == JsonToken.START_ARRAY) {
+                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        checkLimit(recordIndex, maxEvents);
+                        consumer.accept(readEvent(parser, token, recordIndex++));
+                    }
+                } else {
+                    checkLimit(recordIndex, maxEvents);
+                    consumer.accept(readEvent(parser, token, recordIndex++));
+                }
+            }
+        }
+
+        if (empty) {
+            throw new IOException("JSON file is empty");
+        }
+        return recordIndex;
+    }
+
+    private static void checkLimit(long recordIndex, long maxEvents) throws IOException {
+        if (recordIndex >= maxEvents) {
+            throw new IOException("Too many events; the maximum is " + maxEvents);
+        }
+    }
+
+    /**
+     * Read one event object. The parser is positioned on the object's first token.
+     */
+    private AssetEvent readEvent(JsonParser parser, JsonToken token, long recordIndex) throws IOException {
+        int lineNumber = parser.currentTokenLocation().getLineNr();
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonRecordParseException("Error parsing record " + recordIndex + " at line " + lineNumber
+                    + ": expected a JSON object but found " + token, recordIndex, lineNumber, null);
+        }
+
+        String ticker = null;
+        String eventType = null;
+        String amount = null;
+        String date = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName().trim().toLowerCase();
+            parser.nextToken();
+            switch (fieldName) {
+                case "ticker":
+                    ticker = parser.getValueAsString();
+                    break;
+                case "eventtype":
+                case "event_type":
+                case "event type":
+                    eventType = parser.getValueAsString();
+                    break;
+                case "amount":
+                    // Numbers keep their literal text, so 165.75 and "165.75" give the same BigDecimal
+                    amount = parser.getValueAsString();
+                    break;
+                case "date":
+                    date = parser.getValueAsString();
+                    break;
+            }
+            parser.skipChildren();
+        }
+
+        if (ticker == null || eventType == null || amount == null || date == null) {
+            throw new JsonRecordParseException("Error parsing record " + recordIndex + " at line " + lineNumber
+                    + ": missing required fields. Required: ticker, eventType, amount, date",
+                    recordIndex, lineNumber, new IllegalArgumentException("Missing required fields"));
+        }
+
+        try {
+            return AssetEvent.builder()
+                    .ticker(ticker)
+                    .eventType(EventType.valueOf(eventType))
+                    .amount(new BigDecimal(amount))
+                    .date(LocalDate.parse(date, DATE_FORMATTER))
+                    .build();
+        } catch (Exception e) {
+            // Throw exception with details about the record that couldn't be parsed
+            throw new JsonRecordParseException("Error parsing record " + recordIndex + " at line " + lineNumber
+                    + ": " + String.join(",", ticker, eventType, amount, date), recordIndex, lineNumber, e);
+        }
+    }
+}
@@ -2,12 +2,18 @@ package pd.santos.asseteventmonitor.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
+import pd.santos.asseteventmonitor.exception.EventSpoolException;
 import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.spool.EventSpool;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -16,39 +22,139 @@ import pd.santos.asseteventmonitor.model.EventType;
 
 /**
  * Service for publishing AssetEvent objects to Kafka.
+ * When the local event spool is enabled, batches are written to the spool and
+ * published asynchronously by the {@link SpoolDrainerService}.
  */
 @Service
 public class KafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
 
+    /**
+     * Publishing order of imported events: ticker, then event type (PRICE_UPDATE, SPLIT, AGGREGATE), then date.
+     */
+    public static final Comparator<AssetEvent> EVENT_ORDER = Comparator
+            .comparing(AssetEvent::getTicker)
+            .thenComparing(event -> getEventTypeOrder(event.getEventType()))
+            .thenComparing(AssetEvent::getDate);
+
     private final KafkaTemplate<String, AssetEvent> kafkaTemplate;
     private final String topicName;
+    private final EventSpool eventSpool;
 
     public KafkaProducerService(
             KafkaTemplate<String, AssetEvent> kafkaTemplate,
-            @Value("${asset.events.topic}") String topicName) {
+            @Value("${asset.events.topic}") String topicName,
+            ObjectProvider<EventSpool> eventSpool) {
         this.kafkaTemplate = kafkaTemplate;
         this.topicName = topicName;
+        this.eventSpool = eventSpool.getIfAvailable();
     }
 
     /**
      * Publish a list of AssetEvent objects to Kafka.
      * Events are sorted by ticker, event type (PRICE_UPDATE, SPLIT, AGGREGATE), and date before publishing.
+     * If the event spool is enabled, this method returns once the sorted events are in the spool.
      *
      * @param events The list of events to publish
+     * @throws EventSpoolException If the events cannot be written to the spool
      */
     public void publishEvents(List<AssetEvent> events) {
         // Sort events by ticker, event type, and date
-        events.sort(Comparator
-                .comparing(AssetEvent::getTicker)
-                .thenComparing(event -> getEventTypeOrder(event.getEventType()))
-                .thenComparing(AssetEvent::getDate));
+        events.sort(EVENT_ORDER);
+
+        if (eventSpool != null) {
+            try {
+                eventSpool.append(events);
+            } catch (IOException e) {
+                throw new EventSpoolException("Failed to spool " + events.size() + " events", e);
+            }
+            logger.info("Spooled {} events for topic {}", events.size(), topicName);
+            return;
+        }
 
         // Publish sorted events
         events.forEach(this::publishEvent);
     }
 
+    /**
+     * Check that events can be published, so that a submission that can never be
+     * published is rejected before it is grouped with others.
+     *
+     * @param events The events to check
+     * @throws IllegalArgumentException If an event cannot be written to the spool
+     */
+    public void validate(List<AssetEvent> events) {
+        if (eventSpool == null) {
+            return;
+        }
+        try {
+            eventSpool.checkAppendable(events);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Publish several batches of events in the given order, without sorting them.
+     * Used by the {@link EventBatchingService} to send many small submissions at once.
+     * With the event spool enabled, all batches are appended to the spool together,
+     * so they share a single disk flush; if that fails, each batch is appended on its
+     * own, so only the batches that cannot be spooled fail.
+     *
+     * @param batches The batches to publish, in order
+     * @return One future per batch, completed once every event of that batch is spooled
+     *         or acknowledged by the broker
+     */
+    public List<CompletableFuture<Void>> publishBatches(List<List<AssetEvent>> batches) {
+        if (eventSpool != null) {
+            List<AssetEvent> events = new ArrayList<>();
+            batches.forEach(events::addAll);
+            try {
+                eventSpool.append(events);
+                return Collections.nCopies(batches.size(), CompletableFuture.completedFuture(null));
+            } catch (IOException | RuntimeException e) {
+                if (batches.size() == 1) {
+                    return List.of(spoolFailure(events.size(), e));
+                }
+                // A failed append leaves nothing behind, so each batch can be retried alone
+                logger.warn("Failed to spool {} batches together, spooling them one by one", batches.size(), e);
+            }
+
+            List<CompletableFuture<Void>> acks = new ArrayList<>(batches.size());
+            for (List<AssetEvent> batch : batches) {
+                try {
+                    eventSpool.append(batch);
+                    acks.add(CompletableFuture.completedFuture(null));
+                } catch (IOException | RuntimeException e) {
+                    acks.add(spoolFailure(batch.size(), e));
+                }
+            }
+            return acks;
+        }
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>(batches.size());
+        for (List<AssetEvent> batch : batches) {
+            try {
+                CompletableFuture<?>[] sends = batch.stream()
+                        .map(this::send)
+                        .toArray(CompletableFuture[]::new);
+                acks.add(CompletableFuture.allOf(sends));
+            } catch (RuntimeException e) {
+                acks.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return acks;
+    }
+
+    private static CompletableFuture<Void> spoolFailure(int eventCount, Exception e) {
+        if (e instanceof IOException) {
+            return CompletableFuture.failedFuture(
+                    new EventSpoolException("Failed to spool " + eventCount + " events", e));
+        }
+        return CompletableFuture.failedFuture(e);
+    }
+
     /**
      * Helper method to determine the order of event types.
      * Order: PRICE_UPDATE (0), SPLIT (1), AGGREGATE (2)
@@ -56,7 +162,7 @@ public class KafkaProducerService {
      * @param eventType The event type
      * @return An integer representing the order
      */
-    private int getEventTypeOrder(EventType eventType) {
+    private static int getEventTypeOrder(EventType eventType) {
         switch (eventType) {
             case PRICE_UPDATE:
                 return 0;
@@ -76,6 +182,16 @@ public class KafkaProducerService {
      * @param event The event to publish
      */
     public void publishEvent(AssetEvent event) {
+        send(event);
+    }
+
+    /**
+     * Send a single AssetEvent to Kafka, bypassing the event spool.
+     *
+     * @param event The event to send
+     * @return A future completed when the broker acknowledges the event
+     */
+    public CompletableFuture<SendResult<String, AssetEvent>> send(AssetEvent event) {
         // Use the ticker as the key for the Kafka record
         String key = event.getTicker();
 
@@ -90,5 +206,6 @@ public class KafkaProducerService {
                         event.getEventId(), event.getTicker(), topicName, ex);
             }
         });
+        return future;
     }
 }
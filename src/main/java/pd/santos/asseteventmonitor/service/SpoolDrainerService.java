@@ -0,0 +1,201 @@
+package pd.santos.asseteventmonitor.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.apache.kafka.common.errors.RecordBatchTooLargeException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import pd.santos.asseteventmonitor.exception.CorruptSpoolException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.spool.EventSpool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service that drains the local event spool into Kafka on a background thread.
+ * Events are published in spool order, in batches; the spool's read pointer is only
+ * advanced once every event of a batch has been acknowledged by the broker.
+ * A batch that fails with a transient error, such as a broker outage or a timeout, is
+ * retried with exponential backoff, so delivery is at-least-once.
+ * Events the broker can never accept (they cannot be serialized or are too large) and
+ * corrupt spool records are logged as errors and skipped, so they cannot block draining.
+ */
+@Service
+@ConditionalOnProperty(name = "asset.events.spool.enabled", havingValue = "true")
+public class SpoolDrainerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpoolDrainerService.class);
+
+    private static final long IDLE_WAIT_MILLIS = 500;
+
+    private final EventSpool eventSpool;
+    private final KafkaProducerService kafkaProducerService;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+
+    private volatile boolean running;
+    private Thread drainerThread;
+
+    public SpoolDrainerService(
+            EventSpool eventSpool,
+            KafkaProducerService kafkaProducerService,
+            @Value("${asset.events.spool.drain-batch-size}") int batchSize,
+            @Value("${asset.events.spool.send-timeout-ms}") long sendTimeoutMillis,
+            @Value("${asset.events.spool.retry-backoff-ms}") long retryBackoffMillis,
+            @Value("${asset.events.spool.max-retry-backoff-ms}") long maxRetryBackoffMillis) {
+        this.eventSpool = eventSpool;
+        this.kafkaProducerService = kafkaProducerService;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxRetryBackoffMillis = maxRetryBackoffMillis;
+    }
+
+    /**
+     * Start the drainer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainerThread = new Thread(this::drain, "event-spool-drainer");
+        drainerThread.setDaemon(true);
+        drainerThread.start();
+    }
+
+    /**
+     * Stop the drainer thread. Events that were not yet published stay in the spool
+     * and are drained on the next start.
+     *
+     * @throws InterruptedException If interrupted while waiting for the thread to stop
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (drainerThread != null) {
+            drainerThread.interrupt();
+            drainerThread.join(sendTimeoutMillis);
+        }
+    }
+
+    private void drain() {
+        long offset = eventSpool.getReadOffset();
+        long backoff = retryBackoffMillis;
+
+        while (running) {
+            try {
+                EventSpool.SpoolBatch batch = eventSpool.read(offset, batchSize);
+                if (batch.events().isEmpty()) {
+                    offset = batch.endOffset();
+                    eventSpool.awaitData(offset, IDLE_WAIT_MILLIS);
+                    continue;
+                }
+
+                if (!publish(batch.events())) {
+                    logger.warn("Failed to drain event spool at offset {}, retrying in {} ms", offset, backoff);
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, maxRetryBackoffMillis);
+                    continue;
+                }
+
+                eventSpool.acknowledge(batch.endOffset());
+                offset = batch.endOffset();
+                backoff = retryBackoffMillis;
+            } catch (CorruptSpoolException e) {
+                long next = eventSpool.skipCorrupt(e.getOffset());
+                logger.error("Skipping {} bytes of the event spool at offset {}", next - e.getOffset(), e.getOffset(), e);
+                eventSpool.acknowledge(next);
+                offset = next;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // Never let an unexpected error end the thread, or the spool silently fills up
+                logger.error("Unexpected error draining event spool at offset {}, retrying in {} ms", offset, backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoff = Math.min(backoff * 2, maxRetryBackoffMillis);
+            }
+        }
+        logger.info("Event spool drainer stopped at offset {}", offset);
+    }
+
+    /**
+     * Send a batch and wait for the broker to acknowledge every event.
+     *
+     * @return True if the batch can be acknowledged in the spool: every event was either
+     *         published or permanently rejected. False if the batch must be retried.
+     */
+    private boolean publish(List<AssetEvent> events) throws InterruptedException {
+        List<CompletableFuture<SendResult<String, AssetEvent>>> sends = new ArrayList<>(events.size());
+        for (AssetEvent event : events) {
+            try {
+                sends.add(kafkaProducerService.send(event));
+            } catch (RuntimeException e) {
+                sends.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        try {
+            // Wait for every send to settle, failed or not, so each failure can be classified
+            CompletableFuture.allOf(sends.stream()
+                            .map(send -> send.handle((result, ex) -> null))
+                            .toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Broker did not acknowledge {} events within {} ms", events.size(), sendTimeoutMillis);
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Settled sends cannot fail", e);
+        }
+
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < sends.size(); i++) {
+            CompletableFuture<SendResult<String, AssetEvent>> send = sends.get(i);
+            if (send.isCompletedExceptionally()) {
+                if (!isPermanent(send.exceptionNow())) {
+                    return false;
+                }
+                rejected.add(i);
+            }
+        }
+
+        for (int i : rejected) {
+            AssetEvent event = events.get(i);
+            logger.error("Dropping event with ID {} for ticker {}, which the broker can never accept: {}",
+                    event.getEventId(), event.getTicker(), event, sends.get(i).exceptionNow());
+        }
+        return true;
+    }
+
+    /**
+     * Whether a send failure will recur however often the event is retried.
+     * Anything not known to be permanent, including broker outages and timeouts, is retried.
+     */
+    private static boolean isPermanent(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException
+                    || cause instanceof RecordTooLargeException
+                    || cause instanceof RecordBatchTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package pd.santos.asseteventmonitor.spool;
+
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of AssetEvent objects for the event spool.
+ * Layout: event ID (16 bytes), ticker, event type name, amount scale and unscaled value, date as epoch day.
+ * Variable-length fields are prefixed with an unsigned 16-bit length.
+ */
+final class AssetEventCodec {
+
+    private static final int MAX_FIELD_LENGTH = 0xFFFF;
+
+    private AssetEventCodec() {
+    }
+
+    /**
+     * Encode an event into a byte array.
+     *
+     * @param event The event to encode
+     * @return The encoded event
+     */
+    static byte[] encode(AssetEvent event) {
+        byte[] ticker = checkLength(event.getTicker().getBytes(StandardCharsets.UTF_8));
+        byte[] eventType = checkLength(event.getEventType().name().getBytes(StandardCharsets.UTF_8));
+        byte[] unscaledAmount = checkLength(event.getAmount().unscaledValue().toByteArray());
+
+        ByteBuffer buffer = ByteBuffer.allocate(16
+                + 2 + ticker.length
+                + 2 + eventType.length
+                + 4 + 2 + unscaledAmount.length
+                + 8);
+        buffer.putLong(event.getEventId().getMostSignificantBits());
+        buffer.putLong(event.getEventId().getLeastSignificantBits());
+        putField(buffer, ticker);
+        putField(buffer, eventType);
+        buffer.putInt(event.getAmount().scale());
+        putField(buffer, unscaledAmount);
+        buffer.putLong(event.getDate().toEpochDay());
+        return buffer.array();
+    }
+
+    /**
+     * Decode an event from the remaining bytes of a buffer.
+     *
+     * @param buffer The buffer positioned at the start of an encoded event
+     * @return The decoded event
+     */
+    static AssetEvent decode(ByteBuffer buffer) {
+        UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+        String ticker = new String(getField(buffer), StandardCharsets.UTF_8);
+        EventType eventType = EventType.valueOf(new String(getField(buffer), StandardCharsets.UTF_8));
+        int scale = buffer.getInt();
+        BigDecimal amount = new BigDecimal(new BigInteger(getField(buffer)), scale);
+        LocalDate date = LocalDate.ofEpochDay(buffer.getLong());
+
+        return AssetEvent.builder()
+                .eventId(eventId)
+                .ticker(ticker)
+                .eventType(eventType)
+                .amount(amount)
+                .date(date)
+                .build();
+    }
+
+    private static byte[] checkLength(byte[] field) {
+        if (field.length > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Field too long to spool: " + field.length + " bytes");
+        }
+        return field;
+    }
+
+    private static void putField(ByteBuffer buffer, byte[] field) {
+        buffer.putShort((short) field.length);
+        buffer.put(field);
+    }
+
+    private static byte[] getField(ByteBuffer buffer) {
+        byte[] field = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(field);
+        return field;
+    }
+}
@@ -0,0 +1,518 @@
+package pd.santos.asseteventmonitor.spool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pd.santos.asseteventmonitor.exception.CorruptSpoolException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Durable, append-only log of asset events backed by memory-mapped segment files.
+ * Imports append their ordered events and return as soon as the events are on local disk;
+ * a single drainer reads them back in the same order, publishes them and then acknowledges
+ * the offset it reached. The acknowledged offset is persisted, so events that were appended
+ * but not yet acknowledged are drained again after a restart (at-least-once delivery).
+ * Segments that have been fully drained are recycled for new appends.
+ * Appends are atomic: the header at the start of an append is written last, once every other
+ * record of the append (and an invalid header just past them) is in place, so recovery accepts
+ * either all of an append or none of it. This holds when the process is killed at any point; it
+ * also holds across an operating system crash when fsync is enabled, as the commit header is
+ * flushed only after the rest of the append.
+ *
+ * <p>Offsets are logical: segment {@code n} covers offsets {@code [n * segmentSize, (n + 1) * segmentSize)}.
+ */
+public class EventSpool implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSpool.class);
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String POINTER_FILE = "spool.pointer";
+    private static final String LOCK_FILE = "spool.lock";
+
+    // File locks only guard against other processes, so spools opened by this JVM are tracked here
+    private static final Set<Path> OPEN_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final boolean fsync;
+
+    private final ConcurrentSkipListMap<Long, SpoolSegment> segments = new ConcurrentSkipListMap<>();
+    private final Deque<SpoolSegment> freeSegments = new ArrayDeque<>();
+    private final Object dataSignal = new Object();
+
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final FileChannel pointerChannel;
+    private final MappedByteBuffer pointer;
+
+    private volatile long readOffset;
+    private volatile long writeOffset;
+    private boolean closed;
+
+    /**
+     * A batch of events read from the spool.
+     *
+     * @param events The events, in append order
+     * @param endOffset The offset just past the last event of the batch
+     */
+    public record SpoolBatch(List<AssetEvent> events, long endOffset) {
+    }
+
+    /**
+     * Open the spool in the given directory, recovering any events that were not yet drained.
+     *
+     * @param directory The spool directory; created if it does not exist
+     * @param segmentSize The size of each segment file in bytes
+     * @param maxSegments The maximum number of segment files, which bounds the disk space used
+     * @param fsync Whether appends and acknowledgements are flushed to disk before returning
+     * @throws IOException If the spool cannot be opened or is in use by another process
+     */
+    public EventSpool(Path directory, int segmentSize, int maxSegments, boolean fsync) throws IOException {
+        if (segmentSize <= SpoolSegment.HEADER_SIZE * 2) {
+            throw new IllegalArgumentException("Spool segment size is too small: " + segmentSize);
+        }
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("Spool needs at least 2 segments: " + maxSegments);
+        }
+        Files.createDirectories(directory);
+        this.directory = directory.toRealPath();
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.fsync = fsync;
+
+        if (!OPEN_DIRECTORIES.add(this.directory)) {
+            throw new IOException("Spool directory " + directory + " is already in use");
+        }
+        try {
+            this.lockChannel = FileChannel.open(this.directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            OPEN_DIRECTORIES.remove(this.directory);
+            throw e;
+        }
+        this.lock = acquireLock();
+
+        try {
+            // The pointer file holds the acknowledged read offset and the segment size it refers to
+            this.pointerChannel = FileChannel.open(this.directory.resolve(POINTER_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.pointer = pointerChannel.map(FileChannel.MapMode.READ_WRITE, 0, 2 * Long.BYTES);
+            long persistedSegmentSize = pointer.getLong(Long.BYTES);
+            if (persistedSegmentSize != 0 && persistedSegmentSize != segmentSize) {
+                throw new IOException("Spool in " + directory + " was created with segment size "
+                        + persistedSegmentSize + ", not " + segmentSize);
+            }
+            pointer.putLong(Long.BYTES, segmentSize);
+            this.readOffset = pointer.getLong(0);
+
+            loadSegments();
+            this.writeOffset = recoverWriteOffset();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        logger.info("Opened event spool in {} with {} bytes pending", directory, writeOffset - readOffset);
+    }
+
+    /**
+     * Append events to the spool, in order.
+     * When this method returns the events are durable (on disk if fsync is enabled,
+     * otherwise in the operating system's page cache) and visible to the drainer.
+     *
+     * @param events The events to append
+     * @throws IOException If the spool is full or the events cannot be written
+     */
+    public synchronized void append(List<AssetEvent> events) throws IOException {
+        ensureOpen();
+        long start = writeOffset;
+        long offset = start;
+        // The first header of the append, written last to commit it
+        SpoolSegment commitSegment = null;
+        int commitPosition = 0;
+        int commitHeader = 0;
+
+        try {
+            for (AssetEvent event : events) {
+                byte[] payload = encode(event);
+
+                int position = positionOf(offset);
+                if (position + SpoolSegment.HEADER_SIZE + payload.length > segmentSize) {
+                    if (position + SpoolSegment.HEADER_SIZE <= segmentSize) {
+                        SpoolSegment segment = segmentForWrite(segmentOf(offset));
+                        if (commitSegment == null) {
+                            commitSegment = segment;
+                            commitPosition = position;
+                            commitHeader = segment.prepareRollMarker(position);
+                        } else {
+                            segment.writeRollMarker(position);
+                        }
+                    }
+                    offset = (segmentOf(offset) + 1) * segmentSize;
+                    position = 0;
+                }
+
+                SpoolSegment segment = segmentForWrite(segmentOf(offset));
+                if (commitSegment == null) {
+                    commitSegment = segment;
+                    commitPosition = position;
+                    commitHeader = segment.prepare(position, payload);
+                } else {
+                    segment.write(position, payload);
+                }
+                offset += SpoolSegment.HEADER_SIZE + payload.length;
+            }
+
+            // Records left behind by an earlier failed append may follow; make sure recovery stops here
+            long end = terminate(offset);
+            if (fsync) {
+                force(start, end);
+            }
+            if (commitSegment != null) {
+                commitSegment.commit(commitPosition, commitHeader);
+                if (fsync) {
+                    commitSegment.force(commitPosition, commitPosition + SpoolSegment.HEADER_SIZE);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            discard(start, e);
+            throw e;
+        }
+
+        writeOffset = offset;
+        synchronized (dataSignal) {
+            dataSignal.notifyAll();
+        }
+    }
+
+    /**
+     * Check that events can be appended: every field is within the encoding limits
+     * and every event fits in a segment. Nothing is written.
+     *
+     * @param events The events to check
+     * @throws IOException If an event cannot be spooled
+     */
+    public void checkAppendable(List<AssetEvent> events) throws IOException {
+        for (AssetEvent event : events) {
+            encode(event);
+        }
+    }
+
+    /**
+     * Read up to {@code maxEvents} appended events starting at the given offset.
+     * A batch stops before a corrupt or undecodable record; reading from that record itself fails.
+     * Only the drainer thread may call this method.
+     *
+     * @param fromOffset The offset to start reading from
+     * @param maxEvents The maximum number of events to read
+     * @return The events read and the offset to continue from
+     * @throws CorruptSpoolException If the record at {@code fromOffset} is corrupt or its segment is missing
+     */
+    public SpoolBatch read(long fromOffset, int maxEvents) throws CorruptSpoolException {
+        long end = writeOffset;
+        long offset = fromOffset;
+        List<AssetEvent> events = new ArrayList<>();
+
+        while (offset < end && events.size() < maxEvents) {
+            long index = segmentOf(offset);
+            int position = positionOf(offset);
+            SpoolSegment segment = segments.get(index);
+            if (segment == null) {
+                if (!events.isEmpty()) {
+                    break;
+                }
+                throw new CorruptSpoolException("Spool segment " + index + " is missing", offset);
+            }
+
+            if (position + SpoolSegment.HEADER_SIZE > segmentSize || segment.isRollMarker(position)) {
+                offset = (index + 1) * segmentSize;
+                continue;
+            }
+
+            ByteBuffer payload = segment.readPayload(position);
+            if (payload == null) {
+                if (!events.isEmpty()) {
+                    break;
+                }
+                throw new CorruptSpoolException("Corrupt spool record at offset " + offset, offset);
+            }
+            AssetEvent event;
+            try {
+                event = AssetEventCodec.decode(payload.duplicate());
+            } catch (RuntimeException e) {
+                // A checksummed record that cannot be decoded, e.g. written by an older version
+                if (!events.isEmpty()) {
+                    break;
+                }
+                throw new CorruptSpoolException("Undecodable spool record at offset " + offset, offset, e);
+            }
+            events.add(event);
+            offset += SpoolSegment.HEADER_SIZE + payload.remaining();
+        }
+
+        return new SpoolBatch(events, offset);
+    }
+
+    /**
+     * Find where reading can resume after a corrupt record. Record boundaries cannot be trusted
+     * past a corrupt header, so the rest of its segment is skipped.
+     *
+     * @param corruptOffset The offset of the corrupt record
+     * @return The start of the next segment, or the write offset if that comes first
+     */
+    public long skipCorrupt(long corruptOffset) {
+        return Math.min((segmentOf(corruptOffset) + 1) * segmentSize, writeOffset);
+    }
+
+    /**
+     * Wait until events are available past the given offset.
+     *
+     * @param fromOffset The offset the drainer has reached
+     * @param timeoutMillis The maximum time to wait
+     * @return True if events are available
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public boolean awaitData(long fromOffset, long timeoutMillis) throws InterruptedException {
+        synchronized (dataSignal) {
+            if (writeOffset == fromOffset) {
+                dataSignal.wait(timeoutMillis);
+            }
+            return writeOffset != fromOffset;
+        }
+    }
+
+    /**
+     * Persist the read pointer after the events before {@code offset} have been published,
+     * and recycle the segments that are now fully drained.
+     *
+     * @param offset The offset just past the last published event
+     */
+    public synchronized void acknowledge(long offset) {
+        if (closed) {
+            return;
+        }
+        readOffset = offset;
+        pointer.putLong(0, offset);
+        if (fsync) {
+            pointer.force();
+        }
+
+        // Never recycle the segment the writer is positioned in
+        long drainedBefore = Math.min(segmentOf(offset), segmentOf(writeOffset));
+        Map<Long, SpoolSegment> drained = segments.headMap(drainedBefore);
+        freeSegments.addAll(drained.values());
+        drained.clear();
+    }
+
+    /**
+     * @return The offset up to which events have been published
+     */
+    public long getReadOffset() {
+        return readOffset;
+    }
+
+    /**
+     * @return The offset just past the last appended event
+     */
+    public long getWriteOffset() {
+        return writeOffset;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (SpoolSegment segment : segments.values()) {
+            segment.close();
+        }
+        for (SpoolSegment segment : freeSegments) {
+            segment.close();
+        }
+        if (pointerChannel != null) {
+            pointerChannel.close();
+        }
+        if (lock != null) {
+            lock.release();
+        }
+        lockChannel.close();
+        OPEN_DIRECTORIES.remove(directory);
+        synchronized (dataSignal) {
+            dataSignal.notifyAll();
+        }
+    }
+
+    private FileLock acquireLock() throws IOException {
+        FileLock fileLock = lockChannel.tryLock();
+        if (fileLock == null) {
+            lockChannel.close();
+            OPEN_DIRECTORIES.remove(directory);
+            throw new IOException("Spool directory " + directory + " is in use by another process");
+        }
+        return fileLock;
+    }
+
+    private void loadSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList();
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long index;
+            try {
+                index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring unexpected file in spool directory: {}", file);
+                continue;
+            }
+
+            SpoolSegment segment = SpoolSegment.open(file, index, segmentSize);
+            if (index < segmentOf(readOffset)) {
+                freeSegments.add(segment);
+            } else {
+                segments.put(index, segment);
+            }
+        }
+    }
+
+    /**
+     * Scan forward from the read pointer to find the end of the valid records.
+     */
+    private long recoverWriteOffset() {
+        long offset = readOffset;
+        while (true) {
+            long index = segmentOf(offset);
+            int position = positionOf(offset);
+            SpoolSegment segment = segments.get(index);
+            if (segment == null) {
+                return offset;
+            }
+
+            if (position + SpoolSegment.HEADER_SIZE > segmentSize || segment.isRollMarker(position)) {
+                offset = (index + 1) * segmentSize;
+                continue;
+            }
+
+            ByteBuffer payload = segment.readPayload(position);
+            if (payload == null) {
+                return offset;
+            }
+            offset += SpoolSegment.HEADER_SIZE + payload.remaining();
+        }
+    }
+
+    private SpoolSegment segmentForWrite(long index) throws IOException {
+        SpoolSegment segment = segments.get(index);
+        if (segment != null) {
+            return segment;
+        }
+
+        Path file = directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+        segment = freeSegments.poll();
+        if (segment != null) {
+            segment.reassign(index, file);
+        } else if (segments.size() >= maxSegments) {
+            throw new IOException("Event spool is full: " + segments.size() + " segments are waiting to be drained");
+        } else {
+            segment = SpoolSegment.open(file, index, segmentSize);
+        }
+        segments.put(index, segment);
+        return segment;
+    }
+
+    private byte[] encode(AssetEvent event) throws IOException {
+        byte[] payload;
+        try {
+            payload = AssetEventCodec.encode(event);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Event " + event.getEventId() + " cannot be spooled: " + e.getMessage(), e);
+        }
+        if (SpoolSegment.HEADER_SIZE + payload.length > segmentSize) {
+            throw new IOException("Event " + event.getEventId() + " does not fit in a spool segment");
+        }
+        return payload;
+    }
+
+    /**
+     * Invalidate the record header at the given offset, moving to the next segment if the
+     * current one has no room for a header, just as reading and recovery do.
+     *
+     * @return The offset just past the invalidated header, or the given offset if its segment does not exist
+     */
+    private long terminate(long offset) {
+        if (positionOf(offset) + SpoolSegment.HEADER_SIZE > segmentSize) {
+            offset = (segmentOf(offset) + 1) * segmentSize;
+        }
+        SpoolSegment segment = segments.get(segmentOf(offset));
+        if (segment == null) {
+            return offset;
+        }
+        segment.invalidate(positionOf(offset));
+        return offset + SpoolSegment.HEADER_SIZE;
+    }
+
+    /**
+     * Make the records of a failed append unreachable, so that they are not drained after a restart.
+     */
+    private void discard(long start, Exception failure) {
+        try {
+            long end = terminate(start);
+            if (fsync) {
+                force(start, end);
+            }
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+        logger.warn("Discarded a failed append at spool offset {}", start);
+    }
+
+    private void force(long from, long to) {
+        if (to <= from) {
+            return;
+        }
+        long lastIndex = segmentOf(to - 1);
+        for (long index = segmentOf(from); index <= lastIndex; index++) {
+            SpoolSegment segment = segments.get(index);
+            if (segment != null) {
+                int start = index == segmentOf(from) ? positionOf(from) : 0;
+                int end = index == lastIndex ? (int) (to - index * segmentSize) : segmentSize;
+                segment.force(start, end);
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Event spool is closed");
+        }
+    }
+
+    private long segmentOf(long offset) {
+        return offset / segmentSize;
+    }
+
+    private int positionOf(long offset) {
+        return (int) (offset % segmentSize);
+    }
+}
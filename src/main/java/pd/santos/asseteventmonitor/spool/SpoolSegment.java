@@ -0,0 +1,170 @@
+package pd.santos.asseteventmonitor.spool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A fixed-size, memory-mapped segment file of the event spool.
+ * Each record is stored as a header (payload length and checksum) followed by the payload.
+ * Checksums cover the segment index, so records left over from a previous use of a recycled
+ * file never validate under its new index.
+ * All buffer access is absolute, so the writer and the drainer can share the mapping.
+ */
+final class SpoolSegment implements Closeable {
+
+    static final int HEADER_SIZE = 8;
+    private static final int ROLL_MARKER = -1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private Path path;
+    private long index;
+
+    private SpoolSegment(Path path, long index, int size, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.index = index;
+        this.size = size;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Open or create a segment file and map it into memory.
+     *
+     * @param path The segment file
+     * @param index The segment index
+     * @param size The segment size in bytes
+     * @return The mapped segment
+     * @throws IOException If the file cannot be opened or mapped
+     */
+    static SpoolSegment open(Path path, long index, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new SpoolSegment(path, index, size, channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reuse this segment's file under a new index.
+     * The mapping stays valid because it refers to the file, not to its name.
+     *
+     * @param newIndex The new segment index
+     * @param newPath The new file name
+     * @throws IOException If the file cannot be renamed
+     */
+    void reassign(long newIndex, Path newPath) throws IOException {
+        Files.move(path, newPath, StandardCopyOption.ATOMIC_MOVE);
+        this.path = newPath;
+        this.index = newIndex;
+    }
+
+    long index() {
+        return index;
+    }
+
+    /**
+     * Write a record at the given position. The caller ensures that it fits.
+     */
+    void write(int position, byte[] payload) {
+        commit(position, prepare(position, payload));
+    }
+
+    /**
+     * Write a record without its length, so it stays invalid until {@link #commit} is called.
+     *
+     * @return The header value to commit
+     */
+    int prepare(int position, byte[] payload) {
+        buffer.putInt(position, 0);
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position + 4, checksum(ByteBuffer.wrap(payload)));
+        return payload.length;
+    }
+
+    /**
+     * Mark the rest of the segment as unused; the log continues in the next segment.
+     */
+    void writeRollMarker(int position) {
+        commit(position, prepareRollMarker(position));
+    }
+
+    /**
+     * Write a roll marker's checksum, so it stays invalid until {@link #commit} is called.
+     *
+     * @return The header value to commit
+     */
+    int prepareRollMarker(int position) {
+        buffer.putInt(position, 0);
+        buffer.putInt(position + 4, checksum(ByteBuffer.allocate(0)));
+        return ROLL_MARKER;
+    }
+
+    /**
+     * Make a prepared record or roll marker valid by writing its header value.
+     */
+    void commit(int position, int header) {
+        buffer.putInt(position, header);
+    }
+
+    /**
+     * Clear the record header at the given position, so that reading and recovery stop there.
+     */
+    void invalidate(int position) {
+        buffer.putInt(position, 0);
+    }
+
+    boolean isRollMarker(int position) {
+        return buffer.getInt(position) == ROLL_MARKER
+                && buffer.getInt(position + 4) == checksum(ByteBuffer.allocate(0));
+    }
+
+    /**
+     * Return the payload of a valid record at the given position, or null if there is none.
+     */
+    ByteBuffer readPayload(int position) {
+        int length = buffer.getInt(position);
+        if (length <= 0 || length > size - position - HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(position + HEADER_SIZE, length);
+        if (buffer.getInt(position + 4) != checksum(payload.duplicate())) {
+            return null;
+        }
+        return payload;
+    }
+
+    /**
+     * Flush a range of the segment to disk.
+     */
+    void force(int from, int to) {
+        if (to > from) {
+            buffer.force(from, to - from);
+        }
+    }
+
+    private int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, index));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,20 +1,35 @@
 package pd.santos.asseteventmonitor;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @Import(TestcontainersConfiguration.class)
 @SpringBootTest
+@DirtiesContext
 @EnableAutoConfiguration(exclude = {
     DataSourceAutoConfiguration.class,
     SecurityAutoConfiguration.class
 })
 class AssetEventMonitorApplicationTests {
 
+    @TempDir
+    static Path spoolDirectory;
+
+    @DynamicPropertySource
+    static void spoolProperties(DynamicPropertyRegistry registry) {
+        registry.add("asset.events.spool.dir", spoolDirectory::toString);
+    }
+
     @Test
     void contextLoads() {
     }
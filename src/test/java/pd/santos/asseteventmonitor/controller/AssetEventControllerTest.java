@@ -10,10 +10,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import pd.santos.asseteventmonitor.exception.EventSpoolException;
 import pd.santos.asseteventmonitor.model.AssetEvent;
 import pd.santos.asseteventmonitor.model.EventType;
+import pd.santos.asseteventmonitor.service.ArchiveImportService;
 import pd.santos.asseteventmonitor.service.CsvParserService;
+import pd.santos.asseteventmonitor.service.EventBatchingService;
+import pd.santos.asseteventmonitor.service.JsonParserService;
 import pd.santos.asseteventmonitor.service.KafkaProducerService;
 
 import java.io.IOException;
@@ -22,11 +27,17 @@ import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,9 +46,18 @@ class AssetEventControllerTest {
     @Mock
     private CsvParserService csvParserService;
 
+    @Mock
+    private JsonParserService jsonParserService;
+
     @Mock
     private KafkaProducerService kafkaProducerService;
 
+    @Mock
+    private EventBatchingService eventBatchingService;
+
+    @Mock
+    private ArchiveImportService archiveImportService;
+
     @InjectMocks
     private AssetEventController assetEventController;
 
@@ -176,4 +196,274 @@ class AssetEventControllerTest {
         verify(csvParserService, times(1)).parseAssetEvents(any());
         verify(kafkaProducerService, never()).publishEvents(any());
     }
+
+    @Test
+    void importEvents_shouldReturnServiceUnavailable_whenSpoolUnavailable() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "events.csv",
+                MediaType.TEXT_PLAIN_VALUE,
+                "ticker,eventType,amount,date\nEQIX,PRICE_UPDATE,165.75,2025-06-01".getBytes()
+        );
+
+        AssetEvent event = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+
+        when(csvParserService.parseAssetEvents(any())).thenReturn(List.of(event));
+        doThrow(new EventSpoolException("Failed to spool 1 events", new IOException("Event spool is full")))
+                .when(kafkaProducerService).publishEvents(any());
+
+        mockMvc.perform(multipart("/api/asset-events/import")
+                        .file(file))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("Event spool unavailable: Failed to spool 1 events"));
+
+        verify(kafkaProducerService, times(1)).publishEvents(any());
+    }
+
+    @Test
+    void importJsonEvents_shouldReturnSuccess_whenValidJsonFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "events.ndjson",
+                "application/x-ndjson",
+                "{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75,\"date\":\"2025-06-01\"}".getBytes()
+        );
+
+        AssetEvent event = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+
+        when(jsonParserService.parseAssetEvents(any())).thenReturn(List.of(event));
+
+        mockMvc.perform(multipart("/api/asset-events/import/json")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Successfully imported 1 events"));
+
+        verify(jsonParserService, times(1)).parseAssetEvents(any());
+        verify(kafkaProducerService, times(1)).publishEvents(any());
+    }
+
+    @Test
+    void importJsonEvents_shouldReturnBadRequest_whenNonJsonFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "events.csv",
+                MediaType.TEXT_PLAIN_VALUE,
+                "ticker,eventType,amount,date".getBytes()
+        );
+
+        mockMvc.perform(multipart("/api/asset-events/import/json")
+                        .file(file))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Please upload a JSON or NDJSON file"));
+
+        verify(jsonParserService, never()).parseAssetEvents(any());
+        verify(kafkaProducerService, never()).publishEvents(any());
+    }
+
+    @Test
+    void importJsonEvents_shouldReturnBadRequest_whenIOException() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "events.json",
+                "application/json",
+                "[{\"ticker\":".getBytes()
+        );
+
+        when(jsonParserService.parseAssetEvents(any())).thenThrow(new IOException("Test IO exception"));
+
+        mockMvc.perform(multipart("/api/asset-events/import/json")
+                        .file(file))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Error reading JSON file: Test IO exception"));
+
+        verify(kafkaProducerService, never()).publishEvents(any());
+    }
+
+    @Test
+    void submitEvents_shouldReturnSuccess_whenEventsAreConfirmed() throws Exception {
+        AssetEvent event = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+
+        when(jsonParserService.readAssetEvents(any(), anyLong(), any())).thenAnswer(invocation -> {
+            Consumer<AssetEvent> consumer = invocation.getArgument(2);
+            consumer.accept(event);
+            return 1L;
+        });
+        when(eventBatchingService.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        MvcResult result = mockMvc.perform(post("/api/asset-events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75,\"date\":\"2025-06-01\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Successfully submitted 1 events"));
+
+        verify(eventBatchingService, times(1)).submit(List.of(event));
+    }
+
+    @Test
+    void submitEvents_shouldReturnBadRequest_whenInvalidJson() throws Exception {
+        when(jsonParserService.readAssetEvents(any(), anyLong(), any())).thenThrow(new IOException("Test IO exception"));
+
+        MvcResult result = mockMvc.perform(post("/api/asset-events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ticker\":"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Error reading JSON body: Test IO exception"));
+
+        verify(eventBatchingService, never()).submit(any());
+    }
+
+    @Test
+    void submitEvents_shouldReturnBadRequest_whenTooManyEvents() throws Exception {
+        when(eventBatchingService.getMaxRequestEvents()).thenReturn(2);
+        when(jsonParserService.readAssetEvents(any(), eq(2L), any()))
+                .thenThrow(new IOException("Too many events; the maximum is 2"));
+
+        MvcResult result = mockMvc.perform(post("/api/asset-events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{},{},{}]"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Error reading JSON body: Too many events; the maximum is 2"));
+
+        verify(eventBatchingService, never()).submit(any());
+    }
+
+    @Test
+    void submitEvents_shouldReturnServiceUnavailable_whenQueueIsFull() throws Exception {
+        AssetEvent event = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+
+        when(jsonParserService.readAssetEvents(any(), anyLong(), any())).thenAnswer(invocation -> {
+            Consumer<AssetEvent> consumer = invocation.getArgument(2);
+            consumer.accept(event);
+            return 1L;
+        });
+        when(eventBatchingService.submit(any())).thenReturn(
+                CompletableFuture.failedFuture(new RejectedExecutionException("Event batching queue is full")));
+
+        MvcResult result = mockMvc.perform(post("/api/asset-events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75,\"date\":\"2025-06-01\"}"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("Event batching queue is full"));
+    }
+
+    @Test
+    void importEvents_shouldParseInParallel_whenSeveralCsvFiles() throws Exception {
+        MockMultipartFile first = new MockMultipartFile(
+                "file",
+                "part-1.csv",
+                MediaType.TEXT_PLAIN_VALUE,
+                "ticker,eventType,amount,date\nEQIX,PRICE_UPDATE,165.75,2025-06-01".getBytes()
+        );
+        MockMultipartFile second = new MockMultipartFile(
+                "file",
+                "part-2.csv",
+                MediaType.TEXT_PLAIN_VALUE,
+                "ticker,eventType,amount,date\nEQIX,SPLIT,2,2025-06-01".getBytes()
+        );
+
+        AssetEvent priceUpdate = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+        AssetEvent split = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.SPLIT)
+                .amount(new BigDecimal("2"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+
+        when(archiveImportService.parseAssetEvents(any())).thenReturn(List.of(priceUpdate, split));
+
+        mockMvc.perform(multipart("/api/asset-events/import")
+                        .file(first)
+                        .file(second))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Successfully imported 2 events"));
+
+        verify(archiveImportService, times(1)).parseAssetEvents(any());
+        verify(csvParserService, never()).parseAssetEvents(any());
+        verify(kafkaProducerService, times(1)).publishEvents(any());
+    }
+
+    @Test
+    void importEvents_shouldParseArchive_whenZipFile() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "events.zip",
+                "application/zip",
+                new byte[]{'P', 'K', 5, 6}
+        );
+
+        AssetEvent event = AssetEvent.builder()
+                .ticker("EQIX")
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+
+        when(archiveImportService.parseAssetEvents(any())).thenReturn(List.of(event));
+
+        mockMvc.perform(multipart("/api/asset-events/import")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Successfully imported 1 events"));
+
+        verify(archiveImportService, times(1)).parseAssetEvents(any());
+        verify(csvParserService, never()).parseAssetEvents(any());
+    }
+
+    @Test
+    void importEvents_shouldReturnBadRequest_whenArchiveEntryIsInvalid() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "events.zip",
+                "application/zip",
+                new byte[]{'P', 'K', 5, 6}
+        );
+
+        when(archiveImportService.parseAssetEvents(any()))
+                .thenThrow(new IOException("events.zip!/bad.csv: Error parsing row: INVALID"));
+
+        mockMvc.perform(multipart("/api/asset-events/import")
+                        .file(file))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Error reading CSV file: events.zip!/bad.csv: Error parsing row: INVALID"));
+
+        verify(kafkaProducerService, never()).publishEvents(any());
+    }
 }
@@ -0,0 +1,179 @@
+package pd.santos.asseteventmonitor.loadtest;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+
+/**
+ * End-to-end load test: synthetic CSV files are uploaded through the import endpoint
+ * and read back from an in-process Kafka broker.
+ * Excluded from the regular test task; run with {@code ./gradlew loadTest}.
+ * The workload is configured through {@code loadtest.*} system properties, e.g.
+ * {@code ./gradlew loadTest -Dloadtest.rows=50000 -Dloadtest.zipf=1.3}.
+ * <p>
+ * {@code loadtest.errorRate} is the fraction of measured files that contain a malformed row.
+ * An import is validated as a whole, so one bad row is enough to reject its file with a 400;
+ * a per-row rate would reject nearly every file of a realistic size.
+ */
+@Tag("load")
+@SpringBootTest(properties = "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}")
+@AutoConfigureMockMvc
+@DirtiesContext
+@EmbeddedKafka(partitions = 3, topics = "${asset.events.topic}")
+@EnableAutoConfiguration(exclude = {
+    DataSourceAutoConfiguration.class,
+    SecurityAutoConfiguration.class
+})
+class AssetEventImportLoadTest {
+
+    private static final Path REPORT_DIR = Path.of("build", "reports", "load-test");
+
+    // The context is closed after the class, so the spool is closed before the directory is deleted
+    @TempDir
+    static Path spoolDirectory;
+
+    @DynamicPropertySource
+    static void spoolProperties(DynamicPropertyRegistry registry) {
+        registry.add("asset.events.spool.dir", spoolDirectory::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Value("${asset.events.topic}")
+    private String topicName;
+
+    @Test
+    void importThroughput() throws Exception {
+        int rows = Integer.getInteger("loadtest.rows", 10_000);
+        int imports = Integer.getInteger("loadtest.imports", 100);
+        int warmupImports = Integer.getInteger("loadtest.warmupImports", 5);
+        long seed = Long.getLong("loadtest.seed", 42L);
+        long drainTimeoutSeconds = Long.getLong("loadtest.drainTimeoutSeconds", 120L);
+
+        SyntheticCsvGenerator.SyntheticCsvGeneratorBuilder generator = SyntheticCsvGenerator.builder()
+                .rows(rows)
+                .tickers(Integer.getInteger("loadtest.tickers", 500))
+                .zipfExponent(Double.parseDouble(System.getProperty("loadtest.zipf", "1.1")));
+        double errorRate = Double.parseDouble(System.getProperty("loadtest.errorRate", "0"));
+        String mix = System.getProperty("loadtest.mix");
+        if (mix != null) {
+            generator.eventMix(SyntheticCsvGenerator.parseEventMix(mix));
+        }
+
+        // Generate every file up front so that generation cost stays out of the measurements
+        List<byte[]> warmupFiles = new ArrayList<>();
+        for (int i = 0; i < warmupImports; i++) {
+            warmupFiles.add(generator.seed(seed - 1 - i).build().generate());
+        }
+        Random badFiles = new Random(seed);
+        List<byte[]> files = new ArrayList<>();
+        for (int i = 0; i < imports; i++) {
+            int malformedRows = badFiles.nextDouble() < errorRate ? 1 : 0;
+            files.add(generator.seed(seed + i).malformedRows(malformedRows).build().generate());
+        }
+
+        SyntheticCsvGenerator settings = generator.seed(seed).malformedRows(0).build();
+        String scenario = String.format("rows=%d imports=%d tickers=%d zipf=%s errorRate=%s mix=%s seed=%d",
+                rows, imports, settings.getTickers(), settings.getZipfExponent(),
+                errorRate, settings.getEventMix(), seed);
+        LoadTestReport report = new LoadTestReport(scenario, imports);
+
+        try (KafkaConsumer<String, String> consumer = createConsumer()) {
+            long warmupRows = 0;
+            for (byte[] file : warmupFiles) {
+                if (importFile(file) == 200) {
+                    warmupRows += rows;
+                }
+            }
+            long warmupPublishedRows = drain(consumer, warmupRows, drainTimeoutSeconds);
+
+            report.start();
+            for (byte[] file : files) {
+                long start = System.nanoTime();
+                int status = importFile(file);
+                report.recordImport(System.nanoTime() - start, rows, status == 200);
+            }
+            report.importsDone();
+
+            long publishedRows = drain(consumer, report.getAcceptedRows(), drainTimeoutSeconds);
+            report.published();
+
+            String formatted = report.format();
+            System.out.println(formatted);
+            Files.createDirectories(REPORT_DIR);
+            Files.writeString(REPORT_DIR.resolve("report.txt"), formatted);
+
+            assertEquals(warmupRows, warmupPublishedRows, "Every warmup row should reach the broker");
+            assertEquals(report.getAcceptedRows(), publishedRows, "Every accepted row should reach the broker");
+        }
+    }
+
+    private int importFile(byte[] content) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "events.csv", MediaType.TEXT_PLAIN_VALUE, content);
+        return mockMvc.perform(multipart("/api/asset-events/import").file(file))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    private KafkaConsumer<String, String> createConsumer() {
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, embeddedKafka.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, "asset-event-load-test",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10_000,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class));
+        consumer.subscribe(List.of(topicName));
+        return consumer;
+    }
+
+    /**
+     * Poll the topic until the expected number of records has been read or the timeout expires.
+     *
+     * @return The number of records read
+     */
+    private long drain(KafkaConsumer<String, String> consumer, long expected, long timeoutSeconds) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(timeoutSeconds).toNanos();
+        long received = 0;
+        while (received < expected && System.nanoTime() < deadline) {
+            ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(100));
+            received += records.count();
+        }
+        return received;
+    }
+}
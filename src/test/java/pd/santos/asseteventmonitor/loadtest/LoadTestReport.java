@@ -0,0 +1,142 @@
+package pd.santos.asseteventmonitor.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the measurements of a load test run and formats them as a report.
+ * Tracks import latencies, row counts, peak heap usage and GC time.
+ * Peak heap is the highest total heap usage seen by a background sampler; the pools
+ * peak at different moments, so the sum of their individual peaks would overstate it.
+ */
+class LoadTestReport {
+
+    private static final long HEAP_SAMPLE_INTERVAL_MILLIS = 10;
+
+    private final String scenario;
+    private final long[] latenciesNanos;
+    private int imports;
+    private int rejectedImports;
+    private long acceptedRows;
+    private long startNanos;
+    private long importsDoneNanos;
+    private long publishedNanos;
+    private long gcTimeAtStartMillis;
+    private long gcTimeMillis;
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private ScheduledExecutorService heapSampler;
+
+    LoadTestReport(String scenario, int expectedImports) {
+        this.scenario = scenario;
+        this.latenciesNanos = new long[expectedImports];
+    }
+
+    /**
+     * Start sampling the heap, capture the JVM counters and mark the beginning of the measured phase.
+     */
+    void start() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        heapSampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-test-heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heapSampler.scheduleAtFixedRate(
+                () -> peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, HEAP_SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        gcTimeAtStartMillis = totalGcTimeMillis();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Record the outcome of a single import request.
+     *
+     * @param latencyNanos The request latency
+     * @param rows The number of rows in the imported file
+     * @param accepted Whether the import was accepted
+     */
+    void recordImport(long latencyNanos, int rows, boolean accepted) {
+        latenciesNanos[imports++] = latencyNanos;
+        if (accepted) {
+            acceptedRows += rows;
+        } else {
+            rejectedImports++;
+        }
+    }
+
+    /**
+     * Mark the point at which every import request has returned.
+     */
+    void importsDone() {
+        importsDoneNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the point at which every accepted row was read back from the broker,
+     * and stop sampling the heap.
+     *
+     * @throws InterruptedException If interrupted while waiting for the sampler to stop
+     */
+    void published() throws InterruptedException {
+        publishedNanos = System.nanoTime();
+        gcTimeMillis = totalGcTimeMillis() - gcTimeAtStartMillis;
+        heapSampler.shutdown();
+        heapSampler.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    long getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    /**
+     * Format the report as plain text, one metric per line.
+     *
+     * @return The formatted report
+     */
+    String format() {
+        long[] sorted = Arrays.copyOf(latenciesNanos, imports);
+        Arrays.sort(sorted);
+        double importSeconds = (importsDoneNanos - startNanos) / 1e9;
+        double endToEndSeconds = (publishedNanos - startNanos) / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append("Load test scenario: ").append(scenario).append('\n');
+        report.append(String.format("  imports              %d (%d rejected)%n", imports, rejectedImports));
+        report.append(String.format("  accepted rows        %d%n", acceptedRows));
+        report.append(String.format("  import rows/s        %.0f%n", acceptedRows / importSeconds));
+        report.append(String.format("  end-to-end rows/s    %.0f%n", acceptedRows / endToEndSeconds));
+        // Below 100 samples the nearest-rank p99 is always the maximum
+        report.append(String.format("  latency samples      %d%n", sorted.length));
+        report.append(String.format("  import latency p50   %.2f ms%n", percentile(sorted, 50) / 1e6));
+        report.append(String.format("  import latency p99   %.2f ms%s%n", percentile(sorted, 99) / 1e6,
+                sorted.length < 100 ? " (= max, too few samples)" : ""));
+        report.append(String.format("  import latency max   %.2f ms%n", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        report.append(String.format("  peak heap            %.1f MiB%n", peakHeapBytes.get() / (1024.0 * 1024.0)));
+        report.append(String.format("  GC time              %d ms%n", gcTimeMillis));
+        return report.toString();
+    }
+
+    /**
+     * Nearest-rank percentile of an ascending array.
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static long totalGcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+}
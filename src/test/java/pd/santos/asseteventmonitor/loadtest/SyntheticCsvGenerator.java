@@ -0,0 +1,219 @@
+package pd.santos.asseteventmonitor.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic asset event CSV files for load testing.
+ * Ticker popularity follows a Zipf distribution, event types follow a weighted mix,
+ * and rows can be deliberately malformed, either each with probability {@code errorRate}
+ * or as an exact number of {@code malformedRows} at random positions.
+ * The same settings and seed always produce the same bytes.
+ */
+@Getter
+@Builder
+public class SyntheticCsvGenerator {
+
+    private static final String HEADER = "ticker,eventType,amount,date\n";
+    private static final BigDecimal[] SPLIT_RATIOS = {
+            new BigDecimal("2"), new BigDecimal("3"), new BigDecimal("4"), new BigDecimal("0.5")
+    };
+
+    @Builder.Default
+    private final int rows = 10_000;
+    @Builder.Default
+    private final int tickers = 500;
+    @Builder.Default
+    private final double zipfExponent = 1.1;
+    @Builder.Default
+    private final Map<EventType, Double> eventMix = defaultEventMix();
+    @Builder.Default
+    private final double errorRate = 0.0;
+    @Builder.Default
+    private final int malformedRows = 0;
+    @Builder.Default
+    private final long seed = 42L;
+    @Builder.Default
+    private final LocalDate startDate = LocalDate.of(2025, 1, 1);
+    @Builder.Default
+    private final int days = 365;
+
+    /**
+     * Default event mix: mostly price updates with occasional splits and aggregates.
+     *
+     * @return The default event type weights
+     */
+    public static Map<EventType, Double> defaultEventMix() {
+        Map<EventType, Double> mix = new EnumMap<>(EventType.class);
+        mix.put(EventType.PRICE_UPDATE, 0.90);
+        mix.put(EventType.SPLIT, 0.05);
+        mix.put(EventType.AGGREGATE, 0.05);
+        return mix;
+    }
+
+    /**
+     * Parse an event mix of the form {@code PRICE_UPDATE:0.8,SPLIT:0.1,AGGREGATE:0.1}.
+     *
+     * @param spec The event mix specification
+     * @return The event type weights
+     */
+    public static Map<EventType, Double> parseEventMix(String spec) {
+        Map<EventType, Double> mix = new EnumMap<>(EventType.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid event mix entry: " + part);
+            }
+            mix.put(EventType.valueOf(entry[0].trim()), Double.parseDouble(entry[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * Generate the CSV content, including the header row.
+     *
+     * @return The CSV content as UTF-8 bytes
+     */
+    public byte[] generate() {
+        StringBuilder csv = new StringBuilder(HEADER.length() + rows * 36);
+        writeTo(csv);
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the CSV content, including the header row, to the given builder.
+     *
+     * @param csv The builder to append to
+     */
+    public void writeTo(StringBuilder csv) {
+        Random random = new Random(seed);
+        double[] tickerCdf = zipfCdf(tickers, zipfExponent);
+        EventType[] eventTypes = EventType.values();
+        double[] eventCdf = eventCdf(eventTypes);
+        BitSet malformed = malformedRowPositions();
+
+        csv.append(HEADER);
+        for (int i = 0; i < rows; i++) {
+            String ticker = tickerName(sample(tickerCdf, random));
+            EventType eventType = eventTypes[sample(eventCdf, random)];
+            LocalDate date = startDate.plusDays(random.nextInt(days));
+
+            if (random.nextDouble() < errorRate || malformed.get(i)) {
+                appendMalformedRow(csv, ticker, eventType, date, random);
+            } else {
+                csv.append(ticker).append(',')
+                        .append(eventType.name()).append(',')
+                        .append(amountFor(eventType, random).toPlainString()).append(',')
+                        .append(date).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Build the deterministic name of the ticker at the given popularity rank,
+     * e.g. rank 0 is {@code AAAA}, rank 1 is {@code AAAB}.
+     *
+     * @param rank The zero-based popularity rank
+     * @return The ticker name
+     */
+    static String tickerName(int rank) {
+        char[] name = new char[4];
+        int value = rank;
+        for (int i = name.length - 1; i >= 0; i--) {
+            name[i] = (char) ('A' + value % 26);
+            value /= 26;
+        }
+        return new String(name);
+    }
+
+    /**
+     * Pick the positions of the exact malformed rows with their own generator,
+     * so that adding them does not change the content of the valid rows.
+     */
+    private BitSet malformedRowPositions() {
+        BitSet positions = new BitSet(rows);
+        Random random = new Random(~seed);
+        int count = Math.min(malformedRows, rows);
+        while (positions.cardinality() < count) {
+            positions.set(random.nextInt(rows));
+        }
+        return positions;
+    }
+
+    private BigDecimal amountFor(EventType eventType, Random random) {
+        switch (eventType) {
+            case PRICE_UPDATE:
+                return BigDecimal.valueOf(1 + random.nextDouble() * 999).setScale(2, RoundingMode.HALF_UP);
+            case SPLIT:
+                return SPLIT_RATIOS[random.nextInt(SPLIT_RATIOS.length)];
+            case AGGREGATE:
+                return BigDecimal.valueOf(1 + random.nextInt(10));
+            default:
+                return BigDecimal.ONE;
+        }
+    }
+
+    private void appendMalformedRow(StringBuilder csv, String ticker, EventType eventType, LocalDate date, Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                csv.append(ticker).append(",NOT_A_TYPE,1.00,").append(date).append('\n');
+                break;
+            case 1:
+                csv.append(ticker).append(',').append(eventType.name()).append(",abc,").append(date).append('\n');
+                break;
+            case 2:
+                csv.append(ticker).append(',').append(eventType.name()).append(",1.00,not-a-date\n");
+                break;
+            default:
+                csv.append(ticker).append(',').append(eventType.name()).append('\n');
+                break;
+        }
+    }
+
+    private double[] eventCdf(EventType[] eventTypes) {
+        double[] weights = new double[eventTypes.length];
+        for (int i = 0; i < eventTypes.length; i++) {
+            weights[i] = eventMix.getOrDefault(eventTypes[i], 0.0);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] zipfCdf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights must sum to a positive value");
+        }
+        double[] cdf = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i] / total;
+            cdf[i] = running;
+        }
+        cdf[cdf.length - 1] = 1.0;
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+}
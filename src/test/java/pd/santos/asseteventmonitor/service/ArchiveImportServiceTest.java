@@ -0,0 +1,240 @@
+package pd.santos.asseteventmonitor.service;
+
+import com.opencsv.exceptions.CsvValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import pd.santos.asseteventmonitor.exception.CsvRowParseException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveImportServiceTest {
+
+    private final ArchiveImportService archiveImportService = new ArchiveImportService(new CsvParserService(), 4, 1024 * 1024, 10);
+
+    @AfterEach
+    void tearDown() {
+        archiveImportService.shutdown();
+    }
+
+    @Test
+    void parseAssetEvents_shouldSortEachArchiveEntry() throws IOException, CsvValidationException {
+        // Arrange
+        byte[] archive = zip(Map.of(
+                "day/part-1.csv", "ticker,eventType,amount,date\n" +
+                        "GOOG,AGGREGATE,3,2025-06-02\n" +
+                        "EQIX,SPLIT,2,2025-06-01\n",
+                "day/part-2.csv", "ticker,eventType,amount,date\n" +
+                        "EQIX,PRICE_UPDATE,165.75,2025-06-03\n" +
+                        "GOOG,PRICE_UPDATE,170.10,2025-06-01\n",
+                "day/README.txt", "not a csv file"));
+        MultipartFile file = new MockMultipartFile("file", "events.zip", "application/zip", archive);
+
+        // Act
+        List<AssetEvent> events = archiveImportService.parseAssetEvents(List.of(file));
+
+        // Assert
+        assertEquals(4, events.size());
+        assertSorted(events.subList(0, 2));
+        assertSorted(events.subList(2, 4));
+
+        // Publishing sorts across entries
+        events.sort(KafkaProducerService.EVENT_ORDER);
+        assertEvent(events.get(0), "EQIX", EventType.PRICE_UPDATE, LocalDate.of(2025, 6, 3));
+        assertEvent(events.get(1), "EQIX", EventType.SPLIT, LocalDate.of(2025, 6, 1));
+        assertEvent(events.get(2), "GOOG", EventType.PRICE_UPDATE, LocalDate.of(2025, 6, 1));
+        assertEvent(events.get(3), "GOOG", EventType.AGGREGATE, LocalDate.of(2025, 6, 2));
+    }
+
+    @Test
+    void parseAssetEvents_shouldConcatenateSeparateCsvFilesInOrder() throws IOException, CsvValidationException {
+        // Arrange
+        MultipartFile first = new MockMultipartFile("file", "monday.csv", "text/csv",
+                ("ticker,eventType,amount,date\n" +
+                        "EQIX,PRICE_UPDATE,165.75,2025-06-02\n").getBytes());
+        MultipartFile second = new MockMultipartFile("file", "sunday.csv", "text/csv",
+                ("ticker,eventType,amount,date\n" +
+                        "EQIX,PRICE_UPDATE,160.00,2025-06-01\n").getBytes());
+
+        // Act
+        List<AssetEvent> events = archiveImportService.parseAssetEvents(List.of(first, second));
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals(new BigDecimal("165.75"), events.get(0).getAmount());
+        assertEquals(new BigDecimal("160.00"), events.get(1).getAmount());
+    }
+
+    @Test
+    void parseAssetEvents_shouldKeepFileOrder_whenEventsCompareEqual() throws IOException, CsvValidationException {
+        // Arrange
+        String header = "ticker,eventType,amount,date\n";
+        MultipartFile first = new MockMultipartFile("file", "a.csv", "text/csv",
+                (header + "EQIX,PRICE_UPDATE,1,2025-06-01\n").getBytes());
+        MultipartFile second = new MockMultipartFile("file", "b.csv", "text/csv",
+                (header + "EQIX,PRICE_UPDATE,2,2025-06-01\n").getBytes());
+        MultipartFile third = new MockMultipartFile("file", "c.csv", "text/csv",
+                (header + "EQIX,PRICE_UPDATE,3,2025-06-01\n").getBytes());
+
+        // Act
+        List<AssetEvent> events = archiveImportService.parseAssetEvents(List.of(first, second, third));
+        events.sort(KafkaProducerService.EVENT_ORDER);
+
+        // Assert
+        assertEquals(List.of(new BigDecimal("1"), new BigDecimal("2"), new BigDecimal("3")),
+                events.stream().map(AssetEvent::getAmount).toList());
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenAnEntryIsInvalid() throws IOException {
+        // Arrange
+        byte[] archive = zip(Map.of(
+                "good.csv", "ticker,eventType,amount,date\nEQIX,PRICE_UPDATE,165.75,2025-06-01\n",
+                "bad.csv", "ticker,eventType,amount,date\nINVALID,NOT_A_TYPE,abc,not-a-date\n"));
+        MultipartFile file = new MockMultipartFile("file", "events.zip", "application/zip", archive);
+
+        // Act & Assert
+        CsvRowParseException exception = assertThrows(CsvRowParseException.class,
+                () -> archiveImportService.parseAssetEvents(List.of(file)),
+                "Should throw CsvRowParseException when an archive entry cannot be parsed");
+
+        assertTrue(exception.getMessage().startsWith("events.zip!/bad.csv: Error parsing row"));
+        assertArrayEquals(new String[]{"INVALID", "NOT_A_TYPE", "abc", "not-a-date"}, exception.getRow());
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenArchiveExpandsBeyondLimit() throws IOException {
+        // Arrange
+        ArchiveImportService limitedService = new ArchiveImportService(new CsvParserService(), 2, 1000, 10);
+        String rows = "EQIX,PRICE_UPDATE,165.75,2025-06-01\n".repeat(100);
+        byte[] archive = zip(Map.of(
+                "a.csv", "ticker,eventType,amount,date\n" + rows,
+                "b.csv", "ticker,eventType,amount,date\n" + rows));
+        MultipartFile file = new MockMultipartFile("file", "events.zip", "application/zip", archive);
+
+        // Act & Assert
+        try {
+            IOException exception = assertThrows(IOException.class,
+                    () -> limitedService.parseAssetEvents(List.of(file)),
+                    "Should throw IOException when the archive expands beyond the limit");
+
+            assertTrue(exception.getMessage().contains("larger than the maximum of 1000 uncompressed bytes"));
+        } finally {
+            limitedService.shutdown();
+        }
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenTooManyEntries() throws IOException {
+        // Arrange
+        Map<String, String> entries = new HashMap<>();
+        for (int i = 0; i < 11; i++) {
+            entries.put("part-" + i + ".csv", "ticker,eventType,amount,date\nEQIX,PRICE_UPDATE,165.75,2025-06-01\n");
+        }
+        MultipartFile file = new MockMultipartFile("file", "events.zip", "application/zip", zip(entries));
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                () -> archiveImportService.parseAssetEvents(List.of(file)),
+                "Should throw IOException when the import has too many CSV files");
+
+        assertEquals("Too many CSV files in one import; the maximum is 10", exception.getMessage());
+    }
+
+    @Test
+    void parseAssetEvents_shouldFailFast_whenALaterFileIsInvalid() {
+        // Arrange
+        MultipartFile endless = new MockMultipartFile("file", "endless.csv", "text/csv", new byte[0]) {
+            @Override
+            public InputStream getInputStream() {
+                return new EndlessCsvInputStream();
+            }
+        };
+        MultipartFile bad = new MockMultipartFile("file", "bad.csv", "text/csv",
+                "ticker,eventType,amount,date\nINVALID,NOT_A_TYPE,abc,not-a-date\n".getBytes());
+
+        // Act & Assert
+        IOException exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IOException.class,
+                        () -> archiveImportService.parseAssetEvents(List.of(endless, bad))),
+                "Should fail without waiting for the earlier file to finish");
+
+        assertTrue(exception.getMessage().startsWith("bad.csv: Error parsing row"));
+    }
+
+    private static void assertSorted(List<AssetEvent> events) {
+        List<AssetEvent> sorted = new ArrayList<>(events);
+        sorted.sort(KafkaProducerService.EVENT_ORDER);
+        assertEquals(sorted, events);
+    }
+
+    private static void assertEvent(AssetEvent event, String ticker, EventType eventType, LocalDate date) {
+        assertEquals(ticker, event.getTicker());
+        assertEquals(eventType, event.getEventType());
+        assertEquals(date, event.getDate());
+    }
+
+    private static byte[] zip(Map<String, String> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes());
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A CSV file that never ends, delivered slowly.
+     */
+    private static class EndlessCsvInputStream extends InputStream {
+
+        private static final byte[] HEADER = "ticker,eventType,amount,date\n".getBytes();
+        private static final byte[] ROW = "EQIX,PRICE_UPDATE,165.75,2025-06-01\n".getBytes();
+
+        private long position;
+
+        @Override
+        public int read() {
+            int value = position < HEADER.length
+                    ? HEADER[(int) position]
+                    : ROW[(int) ((position - HEADER.length) % ROW.length)];
+            position++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            int count = Math.min(length, 64);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) read();
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package pd.santos.asseteventmonitor.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventBatchingServiceTest {
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    private EventBatchingService eventBatchingService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (eventBatchingService != null) {
+            eventBatchingService.stop();
+        }
+    }
+
+    @Test
+    void submit_shouldCoalesceSubmissionsIntoOneBatch() throws Exception {
+        when(kafkaProducerService.publishBatches(any())).thenAnswer(invocation -> completedAcks(invocation.getArgument(0)));
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 100, 10, 500, 200);
+        eventBatchingService.start();
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            acks.add(eventBatchingService.submit(List.of(event("T" + i))));
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<List<AssetEvent>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducerService, times(1)).publishBatches(captor.capture());
+        List<List<AssetEvent>> batches = captor.getValue();
+        assertEquals(10, batches.size());
+        assertEquals("T0", batches.get(0).get(0).getTicker());
+        assertEquals("T9", batches.get(9).get(0).getTicker());
+    }
+
+    @Test
+    void submit_shouldFlush_whenBatchIsFull() throws Exception {
+        when(kafkaProducerService.publishBatches(any())).thenAnswer(invocation -> completedAcks(invocation.getArgument(0)));
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 100, 10, 3, 10_000);
+        eventBatchingService.start();
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            acks.add(eventBatchingService.submit(List.of(event("T" + i))));
+        }
+
+        // The linger time is far longer than the test timeout, so only the size bound can flush
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        verify(kafkaProducerService, times(2)).publishBatches(any());
+    }
+
+    @Test
+    void submit_shouldFailAck_whenPublishingFails() {
+        when(kafkaProducerService.publishBatches(any())).thenReturn(
+                List.of(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable"))));
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 100, 10, 500, 0);
+        eventBatchingService.start();
+
+        CompletableFuture<Void> ack = eventBatchingService.submit(List.of(event("EQIX")));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> ack.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void submit_shouldReject_whenTooManyEvents() {
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 100, 2, 500, 0);
+        eventBatchingService.start();
+
+        CompletableFuture<Void> ack = eventBatchingService.submit(List.of(event("A"), event("B"), event("C")));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, ack::get);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        verify(kafkaProducerService, never()).publishBatches(any());
+    }
+
+    @Test
+    void submit_shouldFailOnlyTheBadSubmission_whenItSharesABatchWithGoodOnes() throws Exception {
+        List<AssetEvent> bad = List.of(event("X".repeat(70_000)));
+        doThrow(new IllegalArgumentException("Field too long to spool")).when(kafkaProducerService).validate(bad);
+        when(kafkaProducerService.publishBatches(any())).thenAnswer(invocation -> completedAcks(invocation.getArgument(0)));
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 100, 10, 500, 200);
+        eventBatchingService.start();
+
+        CompletableFuture<Void> first = eventBatchingService.submit(List.of(event("EQIX")));
+        CompletableFuture<Void> rejected = eventBatchingService.submit(bad);
+        CompletableFuture<Void> last = eventBatchingService.submit(List.of(event("GOOG")));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        CompletableFuture.allOf(first, last).get(5, TimeUnit.SECONDS);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<List<AssetEvent>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaProducerService, times(1)).publishBatches(captor.capture());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    void submit_shouldReject_whenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(kafkaProducerService.publishBatches(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return completedAcks(invocation.getArgument(0));
+        });
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 1, 10, 1, 0);
+        eventBatchingService.start();
+
+        // The first submission blocks the batcher, the second fills the queue
+        CompletableFuture<Void> first = eventBatchingService.submit(List.of(event("A")));
+        CompletableFuture<Void> second = eventBatchingService.submit(List.of(event("B")));
+        CompletableFuture<Void> third = eventBatchingService.submit(List.of(event("C")));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, third::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+        release.countDown();
+        first.handle((result, ex) -> null).get(5, TimeUnit.SECONDS);
+        second.handle((result, ex) -> null).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void stop_shouldFlushEverySubmissionAcceptedBeforeIt() throws Exception {
+        when(kafkaProducerService.publishBatches(any())).thenAnswer(invocation -> completedAcks(invocation.getArgument(0)));
+        eventBatchingService = new EventBatchingService(kafkaProducerService, 10_000, 10, 50, 10_000);
+        eventBatchingService.start();
+
+        // Submit from another thread while stopping, so submissions race with the final flush
+        List<CompletableFuture<Void>> acks = Collections.synchronizedList(new ArrayList<>());
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                acks.add(eventBatchingService.submit(List.of(event("T" + i))));
+            }
+        });
+        submitter.start();
+        while (acks.isEmpty()) {
+            Thread.onSpinWait();
+        }
+        eventBatchingService.stop();
+        submitter.join();
+
+        CompletableFuture<Void> late = eventBatchingService.submit(List.of(event("LATE")));
+        ExecutionException exception = assertThrows(ExecutionException.class, late::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+        // Every submission was either flushed or rejected; none is left waiting
+        for (CompletableFuture<Void> ack : acks) {
+            ack.handle((result, ex) -> null).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static List<CompletableFuture<Void>> completedAcks(List<List<AssetEvent>> batches) {
+        return Collections.nCopies(batches.size(), CompletableFuture.completedFuture(null));
+    }
+
+    private static AssetEvent event(String ticker) {
+        return AssetEvent.builder()
+                .ticker(ticker)
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package pd.santos.asseteventmonitor.service;
+
+import com.opencsv.exceptions.CsvValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+import pd.santos.asseteventmonitor.exception.JsonRecordParseException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonParserServiceTest {
+
+    private final JsonParserService jsonParserService = new JsonParserService();
+
+    @Test
+    void parseAssetEvents_shouldParseCorrectly_whenJsonArray() throws IOException {
+        // Arrange
+        String jsonContent = "[{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75,\"date\":\"2025-06-01\"}," +
+                "{\"ticker\":\"GOOG\",\"eventType\":\"SPLIT\",\"amount\":2.5,\"date\":\"2025-07-15\"}]";
+        MultipartFile file = new MockMultipartFile("file", "events.json", "application/json", jsonContent.getBytes());
+
+        // Act
+        List<AssetEvent> events = jsonParserService.parseAssetEvents(file);
+
+        // Assert
+        assertEquals(2, events.size());
+        AssetEvent event = events.get(0);
+        assertEquals("EQIX", event.getTicker());
+        assertEquals(EventType.PRICE_UPDATE, event.getEventType());
+        assertEquals(new BigDecimal("165.75"), event.getAmount());
+        assertEquals(LocalDate.of(2025, 6, 1), event.getDate());
+        assertEquals("GOOG", events.get(1).getTicker());
+    }
+
+    @Test
+    void parseAssetEvents_shouldParseCorrectly_whenNdjson() throws IOException {
+        // Arrange
+        String jsonContent = "{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":\"165.75\",\"date\":\"2025-06-01\"}\n" +
+                "{\"date\":\"2025-08-20\",\"amount\":\"3.5\",\"event_type\":\"AGGREGATE\",\"ticker\":\"AMZN\"}\n";
+        MultipartFile file = new MockMultipartFile("file", "events.ndjson", "application/x-ndjson", jsonContent.getBytes());
+
+        // Act
+        List<AssetEvent> events = jsonParserService.parseAssetEvents(file);
+
+        // Assert
+        assertEquals(2, events.size());
+        AssetEvent event = events.get(1);
+        assertEquals("AMZN", event.getTicker());
+        assertEquals(EventType.AGGREGATE, event.getEventType());
+        assertEquals(new BigDecimal("3.5"), event.getAmount());
+        assertEquals(LocalDate.of(2025, 8, 20), event.getDate());
+    }
+
+    @Test
+    void parseAssetEvents_shouldSkipUnknownFields() throws IOException {
+        // Arrange
+        String jsonContent = "{\"source\":{\"vendor\":\"x\",\"tags\":[1,2]},\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\"," +
+                "\"amount\":165.75,\"date\":\"2025-06-01\",\"comment\":null}";
+        MultipartFile file = new MockMultipartFile("file", "events.json", "application/json", jsonContent.getBytes());
+
+        // Act
+        List<AssetEvent> events = jsonParserService.parseAssetEvents(file);
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals("EQIX", events.get(0).getTicker());
+    }
+
+    @Test
+    void parseAssetEvents_shouldMatchCsvParser() throws IOException, CsvValidationException {
+        // Arrange
+        String csvContent = "ticker,eventType,amount,date\n" +
+                "EQIX,PRICE_UPDATE,165.75,2025-06-01\n" +
+                "GOOG,SPLIT,2.50,2025-07-15";
+        String jsonContent = "[{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75,\"date\":\"2025-06-01\"}," +
+                "{\"ticker\":\"GOOG\",\"eventType\":\"SPLIT\",\"amount\":2.50,\"date\":\"2025-07-15\"}]";
+
+        // Act
+        List<AssetEvent> csvEvents = new CsvParserService().parseAssetEvents(
+                new MockMultipartFile("file", "events.csv", "text/csv", csvContent.getBytes()));
+        List<AssetEvent> jsonEvents = jsonParserService.parseAssetEvents(
+                new MockMultipartFile("file", "events.json", "application/json", jsonContent.getBytes()));
+
+        // Assert
+        assertEquals(csvEvents.size(), jsonEvents.size());
+        for (int i = 0; i < csvEvents.size(); i++) {
+            assertEquals(csvEvents.get(i).getTicker(), jsonEvents.get(i).getTicker());
+            assertEquals(csvEvents.get(i).getEventType(), jsonEvents.get(i).getEventType());
+            assertEquals(csvEvents.get(i).getAmount(), jsonEvents.get(i).getAmount());
+            assertEquals(csvEvents.get(i).getDate(), jsonEvents.get(i).getDate());
+        }
+    }
+
+    @Test
+    void readAssetEvents_shouldStreamEventsInOrder() throws IOException {
+        // Arrange
+        StringBuilder jsonContent = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            jsonContent.append("{\"ticker\":\"T").append(i)
+                    .append("\",\"eventType\":\"PRICE_UPDATE\",\"amount\":1.5,\"date\":\"2025-06-01\"}\n");
+        }
+        List<String> tickers = new ArrayList<>();
+
+        // Act
+        long count = jsonParserService.readAssetEvents(
+                new ByteArrayInputStream(jsonContent.toString().getBytes()), event -> tickers.add(event.getTicker()));
+
+        // Assert
+        assertEquals(1000, count);
+        assertEquals("T0", tickers.get(0));
+        assertEquals("T999", tickers.get(999));
+    }
+
+    @Test
+    void readAssetEvents_shouldStopReading_whenTooManyEvents() {
+        // Arrange
+        StringBuilder jsonContent = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            jsonContent.append(i == 0 ? "" : ",")
+                    .append("{\"ticker\":\"T").append(i)
+                    .append("\",\"eventType\":\"PRICE_UPDATE\",\"amount\":1.5,\"date\":\"2025-06-01\"}");
+        }
+        jsonContent.append("]");
+        List<AssetEvent> events = new ArrayList<>();
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                () -> jsonParserService.readAssetEvents(
+                        new ByteArrayInputStream(jsonContent.toString().getBytes()), 10, events::add),
+                "Should throw IOException when the input holds more events than allowed");
+
+        assertEquals("Too many events; the maximum is 10", exception.getMessage());
+        assertEquals(10, events.size());
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenInvalidRecord() {
+        // Arrange
+        String jsonContent = "{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75,\"date\":\"2025-06-01\"}\n" +
+                "{\"ticker\":\"INVALID\",\"eventType\":\"NOT_A_TYPE\",\"amount\":\"abc\",\"date\":\"not-a-date\"}\n";
+        MultipartFile file = new MockMultipartFile("file", "events.ndjson", "application/x-ndjson", jsonContent.getBytes());
+
+        // Act & Assert
+        JsonRecordParseException exception = assertThrows(JsonRecordParseException.class,
+                () -> jsonParserService.parseAssetEvents(file),
+                "Should throw JsonRecordParseException when a record cannot be parsed");
+
+        // Verify the exception contains the correct information
+        assertTrue(exception.getMessage().contains("INVALID,NOT_A_TYPE,abc,not-a-date"));
+        assertEquals(1, exception.getRecordIndex());
+        assertEquals(2, exception.getLineNumber());
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenMissingRequiredFields() {
+        // Arrange
+        String jsonContent = "[{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\",\"amount\":165.75}]";
+        MultipartFile file = new MockMultipartFile("file", "events.json", "application/json", jsonContent.getBytes());
+
+        // Act & Assert
+        JsonRecordParseException exception = assertThrows(JsonRecordParseException.class,
+                () -> jsonParserService.parseAssetEvents(file),
+                "Should throw JsonRecordParseException when required fields are missing");
+
+        assertTrue(exception.getMessage().contains("missing required fields"));
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenNotAnObject() {
+        // Arrange
+        String jsonContent = "[\"EQIX,PRICE_UPDATE,165.75,2025-06-01\"]";
+        MultipartFile file = new MockMultipartFile("file", "events.json", "application/json", jsonContent.getBytes());
+
+        // Act & Assert
+        assertThrows(JsonRecordParseException.class, () -> jsonParserService.parseAssetEvents(file),
+                "Should throw JsonRecordParseException when a record is not an object");
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenMalformedJson() {
+        // Arrange
+        String jsonContent = "[{\"ticker\":\"EQIX\",\"eventType\":\"PRICE_UPDATE\"";
+        MultipartFile file = new MockMultipartFile("file", "events.json", "application/json", jsonContent.getBytes());
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> jsonParserService.parseAssetEvents(file),
+                "Should throw IOException when the JSON is malformed");
+    }
+
+    @Test
+    void parseAssetEvents_shouldThrowException_whenEmptyFile() {
+        // Arrange
+        MultipartFile file = new MockMultipartFile("file", "events.json", "application/json", new byte[0]);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> jsonParserService.parseAssetEvents(file),
+                "Should throw IOException when file is empty");
+    }
+}
@@ -0,0 +1,91 @@
+package pd.santos.asseteventmonitor.service;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+import pd.santos.asseteventmonitor.spool.EventSpool;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaProducerServiceTest {
+
+    private static final String TOPIC = "asset-events";
+
+    @Mock
+    private KafkaTemplate<String, AssetEvent> kafkaTemplate;
+
+    @Mock
+    private ObjectProvider<EventSpool> eventSpoolProvider;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void publishBatches_shouldFailOnlyTheBatchThatCannotBeSpooled() throws Exception {
+        try (EventSpool eventSpool = new EventSpool(directory, 1024, 4, false)) {
+            when(eventSpoolProvider.getIfAvailable()).thenReturn(eventSpool);
+            KafkaProducerService kafkaProducerService = new KafkaProducerService(kafkaTemplate, TOPIC, eventSpoolProvider);
+
+            List<CompletableFuture<Void>> acks = kafkaProducerService.publishBatches(List.of(
+                    List.of(event("EQIX")), List.of(event("X".repeat(70_000))), List.of(event("GOOG"))));
+
+            assertFalse(acks.get(0).isCompletedExceptionally());
+            assertTrue(acks.get(1).isCompletedExceptionally());
+            assertFalse(acks.get(2).isCompletedExceptionally());
+            List<AssetEvent> spooled = eventSpool.read(eventSpool.getReadOffset(), 10).events();
+            assertEquals(List.of("EQIX", "GOOG"), spooled.stream().map(AssetEvent::getTicker).toList());
+        }
+    }
+
+    @Test
+    void publishBatches_shouldFailOnlyTheBatchThatCannotBeSent() {
+        when(kafkaTemplate.send(eq(TOPIC), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq(TOPIC), eq("BAD"), any())).thenThrow(new SerializationException("Cannot serialize"));
+        KafkaProducerService kafkaProducerService = new KafkaProducerService(kafkaTemplate, TOPIC, eventSpoolProvider);
+
+        List<CompletableFuture<Void>> acks = kafkaProducerService.publishBatches(List.of(
+                List.of(event("EQIX")), List.of(event("BAD")), List.of(event("GOOG"))));
+
+        assertFalse(acks.get(0).isCompletedExceptionally());
+        assertTrue(acks.get(1).isCompletedExceptionally());
+        assertFalse(acks.get(2).isCompletedExceptionally());
+    }
+
+    @Test
+    void validate_shouldReject_whenEventCannotBeSpooled() throws Exception {
+        try (EventSpool eventSpool = new EventSpool(directory, 1024, 4, false)) {
+            when(eventSpoolProvider.getIfAvailable()).thenReturn(eventSpool);
+            KafkaProducerService kafkaProducerService = new KafkaProducerService(kafkaTemplate, TOPIC, eventSpoolProvider);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> kafkaProducerService.validate(List.of(event("X".repeat(70_000)))),
+                    "Should throw IllegalArgumentException when a field is too long to spool");
+        }
+    }
+
+    private static AssetEvent event(String ticker) {
+        return AssetEvent.builder()
+                .ticker(ticker)
+                .eventType(EventType.PRICE_UPDATE)
+                .amount(new BigDecimal("165.75"))
+                .date(LocalDate.of(2025, 6, 1))
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package pd.santos.asseteventmonitor.service;
+
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+import pd.santos.asseteventmonitor.spool.EventSpool;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpoolDrainerServiceTest {
+
+    private static final long VERIFY_TIMEOUT_MILLIS = 5000;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @TempDir
+    Path directory;
+
+    private EventSpool eventSpool;
+    private SpoolDrainerService spoolDrainerService;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (spoolDrainerService != null) {
+            spoolDrainerService.stop();
+        }
+        if (eventSpool != null) {
+            eventSpool.close();
+        }
+    }
+
+    @Test
+    void drain_shouldAcknowledgeSpool_onlyAfterBrokerAcknowledges() throws Exception {
+        CompletableFuture<SendResult<String, AssetEvent>> brokerAck = new CompletableFuture<>();
+        when(kafkaProducerService.send(any())).thenReturn(brokerAck);
+        eventSpool = new EventSpool(directory, 1024, 4, false);
+        eventSpool.append(events(3));
+
+        startDrainer(60_000);
+        verify(kafkaProducerService, timeout(VERIFY_TIMEOUT_MILLIS).times(3)).send(any());
+
+        assertEquals(0, eventSpool.getReadOffset(), "Read pointer should not move before the broker acknowledges");
+
+        brokerAck.complete(null);
+        awaitCondition(() -> eventSpool.getReadOffset() == eventSpool.getWriteOffset());
+    }
+
+    @Test
+    void drain_shouldRetryBatch_whenBrokerIsUnavailable() throws Exception {
+        when(kafkaProducerService.send(any())).thenReturn(
+                CompletableFuture.failedFuture(new TimeoutException("Broker unavailable")),
+                CompletableFuture.completedFuture(null));
+        eventSpool = new EventSpool(directory, 1024, 4, false);
+        eventSpool.append(events(1));
+
+        startDrainer(60_000);
+
+        awaitCondition(() -> eventSpool.getReadOffset() == eventSpool.getWriteOffset());
+        verify(kafkaProducerService, times(2)).send(any());
+    }
+
+    @Test
+    void drain_shouldResendUnacknowledgedEvents_afterRestart() throws Exception {
+        AtomicBoolean brokerUp = new AtomicBoolean(false);
+        when(kafkaProducerService.send(any())).thenAnswer(invocation -> brokerUp.get()
+                ? CompletableFuture.completedFuture(null)
+                : new CompletableFuture<>());
+        List<AssetEvent> events = events(3);
+        eventSpool = new EventSpool(directory, 1024, 4, true);
+        eventSpool.append(events);
+
+        startDrainer(60_000);
+        verify(kafkaProducerService, timeout(VERIFY_TIMEOUT_MILLIS).times(3)).send(any());
+        spoolDrainerService.stop();
+        eventSpool.close();
+        clearInvocations(kafkaProducerService);
+
+        brokerUp.set(true);
+        eventSpool = new EventSpool(directory, 1024, 4, true);
+        startDrainer(60_000);
+
+        awaitCondition(() -> eventSpool.getReadOffset() == eventSpool.getWriteOffset());
+        ArgumentCaptor<AssetEvent> captor = ArgumentCaptor.forClass(AssetEvent.class);
+        verify(kafkaProducerService, times(3)).send(captor.capture());
+        assertEquals(events.stream().map(AssetEvent::getEventId).toList(),
+                captor.getAllValues().stream().map(AssetEvent::getEventId).toList());
+    }
+
+    @Test
+    void drain_shouldSkipEvent_whenBrokerRejectsItPermanently() throws Exception {
+        when(kafkaProducerService.send(any())).thenReturn(
+                CompletableFuture.failedFuture(new RecordTooLargeException("Record too large")));
+        eventSpool = new EventSpool(directory, 1024, 4, false);
+        eventSpool.append(events(1));
+
+        startDrainer(60_000);
+
+        awaitCondition(() -> eventSpool.getReadOffset() == eventSpool.getWriteOffset());
+        verify(kafkaProducerService, times(1)).send(any());
+    }
+
+    @Test
+    void drain_shouldSkipCorruptRecord() throws Exception {
+        eventSpool = new EventSpool(directory, 1024, 4, false);
+        eventSpool.append(events(2));
+        // Damage the first payload through the file; the mapping shares the page cache
+        try (FileChannel segment = FileChannel.open(directory.resolve(String.format("%020d.seg", 0)),
+                StandardOpenOption.WRITE)) {
+            segment.write(ByteBuffer.wrap(new byte[]{0x7f, 0x7f, 0x7f, 0x7f}), 12);
+        }
+
+        startDrainer(60_000);
+
+        awaitCondition(() -> eventSpool.getReadOffset() == eventSpool.getWriteOffset());
+        verify(kafkaProducerService, never()).send(any());
+    }
+
+    private void startDrainer(long sendTimeoutMillis) {
+        spoolDrainerService = new SpoolDrainerService(eventSpool, kafkaProducerService, 100, sendTimeoutMillis, 10, 100);
+        spoolDrainerService.start();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + VERIFY_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition was not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<AssetEvent> events(int count) {
+        List<AssetEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(AssetEvent.builder()
+                    .ticker(String.format("T%03d", i))
+                    .eventType(EventType.PRICE_UPDATE)
+                    .amount(new BigDecimal("165.75"))
+                    .date(LocalDate.of(2025, 6, 1))
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,238 @@
+package pd.santos.asseteventmonitor.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pd.santos.asseteventmonitor.exception.CorruptSpoolException;
+import pd.santos.asseteventmonitor.model.AssetEvent;
+import pd.santos.asseteventmonitor.model.EventType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSpoolTest {
+
+    private static final int SMALL_SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldReturnAppendedEventsInOrder() throws IOException {
+        List<AssetEvent> events = List.of(
+                event("EQIX", EventType.PRICE_UPDATE, "165.75", LocalDate.of(2025, 6, 1)),
+                event("GOOG", EventType.SPLIT, "2", LocalDate.of(2025, 7, 15)),
+                event("AMZN", EventType.AGGREGATE, "0.5", LocalDate.of(2025, 8, 20)));
+
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, true)) {
+            spool.append(events);
+
+            EventSpool.SpoolBatch batch = spool.read(spool.getReadOffset(), 10);
+
+            assertEquals(spool.getWriteOffset(), batch.endOffset());
+            assertEquals(3, batch.events().size());
+            for (int i = 0; i < events.size(); i++) {
+                assertSameEvent(events.get(i), batch.events().get(i));
+            }
+        }
+    }
+
+    @Test
+    void read_shouldRespectMaxEvents() throws IOException {
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, false)) {
+            spool.append(events(5));
+
+            EventSpool.SpoolBatch first = spool.read(spool.getReadOffset(), 2);
+            EventSpool.SpoolBatch rest = spool.read(first.endOffset(), 10);
+
+            assertEquals(2, first.events().size());
+            assertEquals(3, rest.events().size());
+            assertEquals("T002", rest.events().get(0).getTicker());
+        }
+    }
+
+    @Test
+    void open_shouldRecoverEventsThatWereNotAcknowledged() throws IOException {
+        List<AssetEvent> events = events(6);
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, true)) {
+            spool.append(events);
+            EventSpool.SpoolBatch batch = spool.read(spool.getReadOffset(), 2);
+            spool.acknowledge(batch.endOffset());
+        }
+
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, true)) {
+            EventSpool.SpoolBatch batch = spool.read(spool.getReadOffset(), 10);
+
+            assertEquals(4, batch.events().size());
+            assertSameEvent(events.get(2), batch.events().get(0));
+            assertSameEvent(events.get(5), batch.events().get(3));
+            assertEquals(spool.getWriteOffset(), batch.endOffset());
+        }
+    }
+
+    @Test
+    void acknowledge_shouldRecycleDrainedSegments() throws IOException {
+        List<AssetEvent> drained = new ArrayList<>();
+        try (EventSpool spool = new EventSpool(directory, SMALL_SEGMENT_SIZE, 3, false)) {
+            long offset = spool.getReadOffset();
+            for (int round = 0; round < 20; round++) {
+                spool.append(events(5));
+                EventSpool.SpoolBatch batch = spool.read(offset, 100);
+                drained.addAll(batch.events());
+                spool.acknowledge(batch.endOffset());
+                offset = batch.endOffset();
+
+                assertTrue(segmentFileCount() <= 3, "Spool should never use more than its maximum segments");
+            }
+        }
+
+        assertEquals(100, drained.size());
+    }
+
+    @Test
+    void append_shouldFail_whenSpoolIsFull() throws IOException {
+        try (EventSpool spool = new EventSpool(directory, SMALL_SEGMENT_SIZE, 2, false)) {
+            IOException exception = assertThrows(IOException.class, () -> spool.append(events(20)),
+                    "Should throw IOException when no segment is free");
+
+            assertTrue(exception.getMessage().contains("Event spool is full"));
+        }
+    }
+
+    @Test
+    void open_shouldDiscardEvents_whenAppendFailed() throws IOException {
+        try (EventSpool spool = new EventSpool(directory, SMALL_SEGMENT_SIZE, 2, true)) {
+            assertThrows(IOException.class, () -> spool.append(events(20)));
+        }
+
+        try (EventSpool spool = new EventSpool(directory, SMALL_SEGMENT_SIZE, 2, true)) {
+            assertEquals(spool.getReadOffset(), spool.getWriteOffset());
+            assertTrue(spool.read(spool.getReadOffset(), 100).events().isEmpty());
+        }
+    }
+
+    @Test
+    void open_shouldNotRecoverLeftovers_whenShorterAppendFollowsFailedAppend() throws IOException {
+        List<AssetEvent> accepted = events(1);
+        try (EventSpool spool = new EventSpool(directory, SMALL_SEGMENT_SIZE, 2, true)) {
+            assertThrows(IOException.class, () -> spool.append(events(20)));
+            spool.append(accepted);
+        }
+
+        try (EventSpool spool = new EventSpool(directory, SMALL_SEGMENT_SIZE, 2, true)) {
+            EventSpool.SpoolBatch batch = spool.read(spool.getReadOffset(), 100);
+
+            assertEquals(1, batch.events().size());
+            assertSameEvent(accepted.get(0), batch.events().get(0));
+            assertEquals(spool.getWriteOffset(), batch.endOffset());
+        }
+    }
+
+    @Test
+    void open_shouldRecoverNoneOfAnAppend_whenItsCommitHeaderIsMissing() throws IOException {
+        List<AssetEvent> committed = events(1);
+        long interruptedStart;
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, true)) {
+            spool.append(committed);
+            interruptedStart = spool.getWriteOffset();
+            spool.append(events(3));
+        }
+
+        // Leave the file as a crash just before the commit would: every record but the first header written
+        try (SpoolSegment segment = SpoolSegment.open(directory.resolve(String.format("%020d.seg", 0)), 0, 1024)) {
+            segment.commit((int) interruptedStart, 0);
+        }
+
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, true)) {
+            EventSpool.SpoolBatch batch = spool.read(spool.getReadOffset(), 10);
+
+            assertEquals(1, batch.events().size());
+            assertSameEvent(committed.get(0), batch.events().get(0));
+            assertEquals(interruptedStart, spool.getWriteOffset());
+        }
+    }
+
+    @Test
+    void read_shouldReportCorruption_whenRecordCannotBeDecoded() throws IOException {
+        List<AssetEvent> events = events(2);
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, false)) {
+            spool.append(events);
+
+            // Rewrite the second record with a valid checksum but an event type that no longer exists
+            byte[] first = AssetEventCodec.encode(events.get(0));
+            byte[] payload = AssetEventCodec.encode(events.get(1));
+            replace(payload, "PRICE_UPDATE", "PRICE_UPDATX");
+            try (SpoolSegment segment = SpoolSegment.open(directory.resolve(String.format("%020d.seg", 0)), 0, 1024)) {
+                segment.write(SpoolSegment.HEADER_SIZE + first.length, payload);
+            }
+
+            EventSpool.SpoolBatch batch = spool.read(spool.getReadOffset(), 10);
+            assertEquals(1, batch.events().size());
+
+            CorruptSpoolException exception = assertThrows(CorruptSpoolException.class,
+                    () -> spool.read(batch.endOffset(), 10),
+                    "Should throw CorruptSpoolException when a record cannot be decoded");
+            assertEquals(batch.endOffset(), exception.getOffset());
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void open_shouldFail_whenDirectoryIsInUse() throws IOException {
+        try (EventSpool spool = new EventSpool(directory, 1024, 4, false)) {
+            assertThrows(IOException.class, () -> new EventSpool(directory, 1024, 4, false),
+                    "Should throw IOException when another spool uses the directory");
+        }
+    }
+
+    private static void replace(byte[] bytes, String target, String replacement) {
+        byte[] from = target.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i + from.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + from.length, from, 0, from.length)) {
+                System.arraycopy(replacement.getBytes(StandardCharsets.UTF_8), 0, bytes, i, from.length);
+                return;
+            }
+        }
+        fail("Payload does not contain " + target);
+    }
+
+    private long segmentFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+
+    private static List<AssetEvent> events(int count) {
+        List<AssetEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(event(String.format("T%03d", i), EventType.PRICE_UPDATE, "100." + i, LocalDate.of(2025, 1, 1).plusDays(i)));
+        }
+        return events;
+    }
+
+    private static AssetEvent event(String ticker, EventType eventType, String amount, LocalDate date) {
+        return AssetEvent.builder()
+                .ticker(ticker)
+                .eventType(eventType)
+                .amount(new BigDecimal(amount))
+                .date(date)
+                .build();
+    }
+
+    private static void assertSameEvent(AssetEvent expected, AssetEvent actual) {
+        assertEquals(expected.getEventId(), actual.getEventId());
+        assertEquals(expected.getTicker(), actual.getTicker());
+        assertEquals(expected.getEventType(), actual.getEventType());
+        assertEquals(expected.getAmount(), actual.getAmount());
+        assertEquals(expected.getDate(), actual.getDate());
+    }
+}